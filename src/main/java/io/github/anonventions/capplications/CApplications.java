@@ -2,36 +2,82 @@ package io.github.anonventions.capplications;
 
 import io.github.anonventions.capplications.commands.ApplicationCommand;
 import io.github.anonventions.capplications.commands.ApplicationTabCompleter;
+import io.github.anonventions.capplications.commands.CommandPipeline;
 import io.github.anonventions.capplications.events.InventoryClickListener;
+import io.github.anonventions.capplications.events.PlayerConnectionListener;
 import io.github.anonventions.capplications.events.PlayerChatListener;
+import io.github.anonventions.capplications.gui.ProfileCache;
+import io.github.anonventions.capplications.index.CooldownIndex;
+import io.github.anonventions.capplications.index.PendingIndex;
+import io.github.anonventions.capplications.logging.AuditLogger;
+import io.github.anonventions.capplications.notifications.ReviewerNotifier;
+import io.github.anonventions.capplications.permissions.PermissionOutbox;
+import io.github.anonventions.capplications.permissions.PermissionReconciler;
+import io.github.anonventions.capplications.purge.PurgeEngine;
+import io.github.anonventions.capplications.roles.RequirementChecker;
+import io.github.anonventions.capplications.roles.RoleRegistry;
+import io.github.anonventions.capplications.scheduler.DeadlineScheduler;
+import io.github.anonventions.capplications.scheduler.MainThreadDispatcher;
+import io.github.anonventions.capplications.scheduler.StripedExecutor;
+import io.github.anonventions.capplications.scheduler.WorkScheduler;
+import io.github.anonventions.capplications.session.SessionManager;
+import io.github.anonventions.capplications.stats.StatsAggregator;
+import io.github.anonventions.capplications.storage.ApplicationRecord;
+import io.github.anonventions.capplications.storage.ApplicationStore;
+import io.github.anonventions.capplications.storage.CachedApplicationStore;
+import io.github.anonventions.capplications.storage.DurableFileWriter;
+import io.github.anonventions.capplications.storage.JournalPlayerHistoryStore;
+import io.github.anonventions.capplications.storage.PlayerHistoryStore;
+import io.github.anonventions.capplications.storage.SqliteStorage;
+import io.github.anonventions.capplications.storage.StatusEntry;
+import io.github.anonventions.capplications.storage.StorageException;
+import io.github.anonventions.capplications.storage.YamlApplicationStore;
 import io.github.anonventions.capplications.utils.ConfigManager;
+import io.github.anonventions.capplications.utils.MessageUtils;
+import io.github.anonventions.capplications.utils.PermissionUtils;
 import org.bukkit.Bukkit;
 import org.bukkit.configuration.file.FileConfiguration;
-import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
-import org.json.simple.JSONArray;
-import org.json.simple.JSONObject;
-import org.json.simple.parser.JSONParser;
 
 import java.io.File;
-import java.io.FileWriter;
-import java.io.IOException;
-import java.nio.file.Files;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public final class CApplications extends JavaPlugin {
 
     private static CApplications instance;
     private ConfigManager configManager;
+    private CommandPipeline commandPipeline;
     private FileConfiguration customConfig;
-
-    // In-memory storage for active applications
-    private final Map<UUID, Integer> playerQuestionIndex = new ConcurrentHashMap<>();
-    private final Map<UUID, List<String>> playerAnswers = new ConcurrentHashMap<>();
+    private MessageUtils messageUtils;
+    private PermissionUtils permissionUtils;
+    private PermissionOutbox permissionOutbox;
+    private ReviewerNotifier reviewerNotifier;
+    private ApplicationStore applicationStore;
+    private PlayerHistoryStore historyStore;
+    private ExecutorService storageExecutor;
+    private StripedExecutor stripedExecutor;
+    private DurableFileWriter fileWriter;
+    private MainThreadDispatcher dispatcher;
+    private WorkScheduler workScheduler;
+    private AuditLogger auditLogger;
+    private final PendingIndex pendingIndex = new PendingIndex();
+    private CooldownIndex cooldownIndex;
+    private DeadlineScheduler deadlineScheduler;
+    private StatsAggregator statsAggregator;
+    private PurgeEngine purgeEngine;
+    private SessionManager sessionManager;
+    private ProfileCache profileCache;
+    private RequirementChecker requirementChecker;
+
+    // Staff members asked to type a denial reason
     private final Map<UUID, UUID> pendingDenials = new ConcurrentHashMap<>();
 
     @Override
@@ -42,20 +88,70 @@ public final class CApplications extends JavaPlugin {
         configManager = new ConfigManager(this);
         configManager.loadConfigs();
         this.customConfig = configManager.getApplicationsConfig();
+        messageUtils = new MessageUtils(this);
+        permissionUtils = new PermissionUtils(this);
+        dispatcher = new MainThreadDispatcher(this);
+        dispatcher.start();
+        workScheduler = new WorkScheduler(this);
+        workScheduler.start();
 
         // Create necessary directories
         createDirectories();
 
+        // Initialize storage
+        try {
+            createStorage();
+            sessionManager = new SessionManager(this);
+            sessionManager.recover();
+            permissionOutbox = new PermissionOutbox(this);
+            permissionOutbox.start();
+        } catch (StorageException e) {
+            getLogger().severe("Failed to initialize storage: " + e.getMessage());
+            getServer().getPluginManager().disablePlugin(this);
+            return;
+        }
+
+        // Load statistics counters
+        statsAggregator = new StatsAggregator(this);
+        statsAggregator.load(historyStore, storageExecutor);
+
+        purgeEngine = new PurgeEngine(this);
+        new PermissionReconciler(this).start();
+
+        // Index applications awaiting review
+        pendingIndex.rebuild(applicationStore.findByStatus(ApplicationRecord.STATUS_PENDING));
+
+        // Checkpoint answers typed in chat
+        long autoSaveInterval = Math.max(1, getConfig().getLong("settings.auto_save_interval", 5)) * 20L * 60;
+        Bukkit.getScheduler().runTaskTimerAsynchronously(this, sessionManager::checkpoint, autoSaveInterval, autoSaveInterval);
+
+        // Start action logging
+        auditLogger = new AuditLogger(this);
+        auditLogger.start();
+
         // Register commands
+        commandPipeline = new CommandPipeline(this);
         getCommand("application").setExecutor(new ApplicationCommand(this));
         getCommand("application").setTabCompleter(new ApplicationTabCompleter(this));
 
         // Register events
         getServer().getPluginManager().registerEvents(new InventoryClickListener(this), this);
         getServer().getPluginManager().registerEvents(new PlayerChatListener(this), this);
-
-        // Start cleanup task
-        startCleanupTask();
+        getServer().getPluginManager().registerEvents(new PlayerConnectionListener(this), this);
+        reviewerNotifier = new ReviewerNotifier(this);
+        reviewerNotifier.start();
+        getServer().getPluginManager().registerEvents(reviewerNotifier, this);
+
+        // Schedule application expiry and cooldown notices
+        profileCache = new ProfileCache(this);
+        requirementChecker = new RequirementChecker(this);
+        cooldownIndex = new CooldownIndex(this);
+        deadlineScheduler = new DeadlineScheduler(this);
+        deadlineScheduler.start();
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            cooldownIndex.load(player.getUniqueId());
+            profileCache.resolve(player.getUniqueId(), player.getName());
+        }
 
         getLogger().info("cApplications has been enabled!");
     }
@@ -63,6 +159,52 @@ public final class CApplications extends JavaPlugin {
     @Override
     public void onDisable() {
         // Save any pending data
+        if (purgeEngine != null) {
+            purgeEngine.close();
+        }
+        // Queued application changes still log actions and grant permissions, so they finish first
+        if (stripedExecutor != null) {
+            try {
+                stripedExecutor.shutdown(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (sessionManager != null) {
+            sessionManager.close();
+        }
+        if (storageExecutor != null) {
+            storageExecutor.shutdown();
+            try {
+                storageExecutor.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (auditLogger != null) {
+            auditLogger.close();
+        }
+        if (permissionOutbox != null) {
+            permissionOutbox.close();
+        }
+        if (permissionUtils != null) {
+            permissionUtils.close();
+        }
+        if (statsAggregator != null) {
+            statsAggregator.close();
+        }
+        if (applicationStore != null) {
+            applicationStore.close();
+        }
+        if (historyStore != null) {
+            historyStore.close();
+        }
+        if (dispatcher != null) {
+            dispatcher.close();
+        }
+        if (workScheduler != null) {
+            workScheduler.close();
+        }
         getLogger().info("cApplications has been disabled!");
     }
 
@@ -88,122 +230,78 @@ public final class CApplications extends JavaPlugin {
         }
     }
 
-    private void startCleanupTask() {
-        Bukkit.getScheduler().runTaskTimerAsynchronously(this, () -> {
-            cleanupExpiredApplications();
-        }, 20L * 60 * 60, 20L * 60 * 60); // Run every hour
-    }
-
-    private void cleanupExpiredApplications() {
-        File applicationsFolder = new File(getDataFolder(), "applications");
-        File[] files = applicationsFolder.listFiles();
-
-        if (files != null) {
-            for (File file : files) {
-                if (file.getName().endsWith(".yml")) {
-                    FileConfiguration config = YamlConfiguration.loadConfiguration(file);
-                    if ("pending".equals(config.getString("status"))) {
-                        long submissionTime = config.getLong("submissionTime", 0);
-                        long expiryTime = getConfig().getInt("settings.expiry_days", 14) * 24 * 60 * 60 * 1000L;
-
-                        if (System.currentTimeMillis() - submissionTime > expiryTime) {
-                            // Mark as expired
-                            config.set("status", "expired");
-                            try {
-                                config.save(file);
-                            } catch (IOException e) {
-                                getLogger().warning("Failed to update expired application: " + file.getName());
-                            }
-                        }
-                    }
-                }
+    private void createStorage() {
+        AtomicInteger threadCount = new AtomicInteger();
+        storageExecutor = Executors.newFixedThreadPool(Math.max(1, getConfig().getInt("advanced.thread_pool_size", 4)), runnable -> {
+            Thread thread = new Thread(runnable, "cApplications-storage-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        int stripes = getConfig().getInt("advanced.player_stripes", 0);
+        stripedExecutor = new StripedExecutor("cApplications-player",
+                stripes > 0 ? stripes : Runtime.getRuntime().availableProcessors(), getLogger());
+
+        fileWriter = new DurableFileWriter(getLogger(), getConfig().getLong("advanced.group_commit_ms", 2));
+
+        ApplicationStore store;
+        String type = getConfig().getString("database.type", "file").toLowerCase();
+        if ("sqlite".equals(type)) {
+            File databaseFile = new File(getDataFolder(), getConfig().getString("database.sqlite.file", "applications.db"));
+            SqliteStorage sqliteStorage = new SqliteStorage(this, databaseFile,
+                    Math.max(1, getConfig().getInt("database.sqlite.pool_size", 4)));
+            store = sqliteStorage;
+            historyStore = sqliteStorage;
+        } else {
+            if (!"file".equals(type)) {
+                getLogger().warning("Unsupported database type '" + type + "', using file storage.");
             }
-        }
-    }
+            store = new YamlApplicationStore(this, fileWriter);
 
-    // Application management methods
-    public FileConfiguration loadApplication(UUID playerId) {
-        File file = new File(getDataFolder() + "/applications", playerId.toString() + ".yml");
-        if (!file.exists()) {
-            return null;
+            JournalPlayerHistoryStore journalStore = new JournalPlayerHistoryStore(this,
+                    Math.max(1, getConfig().getLong("advanced.journal_segment_size", 1024)) * 1024L);
+            long compactionInterval = Math.max(1, getConfig().getLong("advanced.journal_compaction_interval", 10)) * 20L * 60;
+            Bukkit.getScheduler().runTaskTimerAsynchronously(this, journalStore::compact, compactionInterval, compactionInterval);
+            historyStore = journalStore;
         }
-        return YamlConfiguration.loadConfiguration(file);
-    }
 
-    public void saveApplication(UUID playerId, FileConfiguration config) {
-        File file = new File(getDataFolder() + "/applications", playerId.toString() + ".yml");
-        try {
-            config.save(file);
-        } catch (IOException e) {
-            getLogger().severe("Failed to save application for " + playerId + ": " + e.getMessage());
+        if (!getConfig().getBoolean("advanced.cache_applications", true)) {
+            applicationStore = store;
+            return;
         }
-    }
 
-    public void deleteApplication(UUID playerId) {
-        File file = new File(getDataFolder() + "/applications", playerId.toString() + ".yml");
-        if (file.exists()) {
-            file.delete();
-        }
+        CachedApplicationStore cachedStore = new CachedApplicationStore(this, store);
+        long interval = Math.max(1, getConfig().getLong("advanced.write_behind_interval", 5)) * 20L;
+        Bukkit.getScheduler().runTaskTimerAsynchronously(this, cachedStore::flush, interval, interval);
+        applicationStore = cachedStore;
     }
 
-    public JSONArray loadPlayerStatus(UUID playerId) {
-        File file = new File(getDataFolder() + "/playerdata", playerId.toString() + ".json");
-        if (!file.exists()) {
-            return new JSONArray();
-        }
-
-        try {
-            String content = new String(Files.readAllBytes(file.toPath()));
-            JSONParser parser = new JSONParser();
-            return (JSONArray) parser.parse(content);
-        } catch (Exception e) {
-            getLogger().warning("Failed to load player status for " + playerId + ": " + e.getMessage());
-            return new JSONArray();
-        }
+    public List<StatusEntry> loadPlayerStatus(UUID playerId) {
+        return historyStore.getHistory(playerId);
     }
 
-    @SuppressWarnings("unchecked")
     public void savePlayerStatus(UUID playerId, String role, String status, String reason, String handler) {
-        JSONArray statuses = loadPlayerStatus(playerId);
-
-        JSONObject entry = new JSONObject();
-        entry.put("role", role);
-        entry.put("status", status);
-        entry.put("timestamp", System.currentTimeMillis());
-        if (reason != null) {
-            entry.put("reason", reason);
-        }
-        if (handler != null) {
-            entry.put("handler", handler);
-        }
-
-        statuses.add(entry);
-        savePlayerStatusArray(playerId, statuses);
+        StatusEntry entry = new StatusEntry(role, status, System.currentTimeMillis(), reason, handler);
+        historyStore.append(playerId, entry);
+        statsAggregator.record(entry);
+        cooldownIndex.record(playerId, entry);
     }
 
-    @SuppressWarnings("unchecked")
     public void savePlayerStatus(UUID playerId, String role, String status) {
         savePlayerStatus(playerId, role, status, null, null);
     }
 
-    public void savePlayerStatusArray(UUID playerId, JSONArray statuses) {
-        File file = new File(getDataFolder() + "/playerdata", playerId.toString() + ".json");
-        try (FileWriter writer = new FileWriter(file)) {
-            writer.write(statuses.toJSONString());
-        } catch (IOException e) {
-            getLogger().severe("Failed to save player status for " + playerId + ": " + e.getMessage());
-        }
-    }
-
     public void logAction(String performer, String action, UUID targetId, String role) {
-        File logFile = new File(getDataFolder() + "/logs", "actions.log");
-        try (FileWriter writer = new FileWriter(logFile, true)) {
-            String logEntry = String.format("[%d] %s performed %s on %s for role %s%n",
-                    System.currentTimeMillis(), performer, action, targetId.toString(), role);
-            writer.write(logEntry);
-        } catch (IOException e) {
-            getLogger().warning("Failed to log action: " + e.getMessage());
-        }
+        long timestamp = System.currentTimeMillis();
+        auditLogger.log(performer, action, targetId, role);
+
+        storageExecutor.execute(() -> {
+            try {
+                historyStore.recordAction(timestamp, performer, action, targetId, role);
+            } catch (StorageException e) {
+                getLogger().warning("Failed to record action: " + e.getMessage());
+            }
+        });
     }
 
     // Getters
@@ -211,20 +309,100 @@ public final class CApplications extends JavaPlugin {
         return instance;
     }
 
+    public ApplicationStore getApplicationStore() {
+        return applicationStore;
+    }
+
+    public PlayerHistoryStore getHistoryStore() {
+        return historyStore;
+    }
+
+    public PendingIndex getPendingIndex() {
+        return pendingIndex;
+    }
+
+    public CooldownIndex getCooldownIndex() {
+        return cooldownIndex;
+    }
+
+    public DeadlineScheduler getDeadlineScheduler() {
+        return deadlineScheduler;
+    }
+
+    public StatsAggregator getStatsAggregator() {
+        return statsAggregator;
+    }
+
+    public PurgeEngine getPurgeEngine() {
+        return purgeEngine;
+    }
+
+    public ExecutorService getStorageExecutor() {
+        return storageExecutor;
+    }
+
+    public MainThreadDispatcher getDispatcher() {
+        return dispatcher;
+    }
+
+    public DurableFileWriter getFileWriter() {
+        return fileWriter;
+    }
+
+    public WorkScheduler getWorkScheduler() {
+        return workScheduler;
+    }
+
+    public StripedExecutor getStripedExecutor() {
+        return stripedExecutor;
+    }
+
+    public AuditLogger getAuditLogger() {
+        return auditLogger;
+    }
+
     public ConfigManager getConfigManager() {
         return configManager;
     }
 
+    public CommandPipeline getCommandPipeline() {
+        return commandPipeline;
+    }
+
+    public MessageUtils getMessageUtils() {
+        return messageUtils;
+    }
+
+    public RoleRegistry getRoleRegistry() {
+        return configManager.getRoleRegistry();
+    }
+
+    public RequirementChecker getRequirementChecker() {
+        return requirementChecker;
+    }
+
+    public PermissionUtils getPermissionUtils() {
+        return permissionUtils;
+    }
+
+    public PermissionOutbox getPermissionOutbox() {
+        return permissionOutbox;
+    }
+
+    public ReviewerNotifier getReviewerNotifier() {
+        return reviewerNotifier;
+    }
+
     public FileConfiguration getCustomConfig() {
         return customConfig;
     }
 
-    public Map<UUID, Integer> getPlayerQuestionIndex() {
-        return playerQuestionIndex;
+    public SessionManager getSessionManager() {
+        return sessionManager;
     }
 
-    public Map<UUID, List<String>> getPlayerAnswers() {
-        return playerAnswers;
+    public ProfileCache getProfileCache() {
+        return profileCache;
     }
 
     public Map<UUID, UUID> getPendingDenials() {
@@ -234,5 +412,11 @@ public final class CApplications extends JavaPlugin {
     public void reloadCustomConfig() {
         configManager.reloadConfigs();
         this.customConfig = configManager.getApplicationsConfig();
+        messageUtils.reload();
+        requirementChecker.reloadSettings();
+        dispatcher.reloadSettings();
+        workScheduler.reloadSettings();
+        auditLogger.reloadSettings();
+        deadlineScheduler.rebuild();
     }
 }
\ No newline at end of file
@@ -0,0 +1,176 @@
+package io.github.anonventions.capplications.commands;
+
+import io.github.anonventions.capplications.CApplications;
+import io.github.anonventions.capplications.session.AnswerSession;
+import io.github.anonventions.capplications.session.SessionManager;
+import io.github.anonventions.capplications.storage.ApplicationRecord;
+import io.github.anonventions.capplications.storage.ApplicationStore;
+import io.github.anonventions.capplications.utils.MessageUtils;
+import org.bukkit.Bukkit;
+import org.bukkit.Sound;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.util.UUID;
+
+/**
+ * Submits, accepts and denies applications for commands, chat and the review
+ * GUI alike, so each path records the same history, audit entry and
+ * permission grant, and reports failures the same way.
+ */
+public class ApplicationActions {
+
+    private final CApplications plugin;
+
+    public ApplicationActions(CApplications plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Submits the answers of the player's finished chat session. The session
+     * only ends once the application is saved, so after a failure the player
+     * can retry by answering again.
+     */
+    public void submit(Player player) {
+        UUID playerId = player.getUniqueId();
+        String playerName = player.getName();
+        plugin.getCommandPipeline().submit(player, playerId, () -> {
+            SessionManager sessions = plugin.getSessionManager();
+            AnswerSession session = sessions.get(playerId);
+            if (session == null) {
+                // Already submitted by an earlier answer
+                return null;
+            }
+
+            ApplicationStore store = plugin.getApplicationStore();
+            ApplicationRecord record = store.load(playerId);
+            if (record == null || !record.hasStatus(ApplicationRecord.STATUS_IN_PROGRESS)
+                    || record.getStartTime() != session.getStartTime()) {
+                sessions.finish(playerId);
+                return null;
+            }
+
+            record.setAnswers(session.getAnswers());
+            record.submit();
+            store.save(record);
+            sessions.finish(playerId);
+
+            plugin.getPendingIndex().update(record);
+            plugin.getDeadlineScheduler().scheduleExpiry(playerId, record.getSubmissionTime());
+            plugin.getProfileCache().resolve(playerId, playerName);
+            plugin.logAction(playerName, "SUBMIT", playerId, record.getRole());
+            plugin.getReviewerNotifier().notifySubmission(playerName, record.getRole());
+            return record;
+        }, record -> {
+            if (record == null) return;
+
+            plugin.getMessageUtils().sendMessage(player, "application.completed", record.getRole());
+            try {
+                Sound sound = Sound.valueOf(plugin.getConfig().getString("sounds.application_submit", "ENTITY_EXPERIENCE_ORB_PICKUP"));
+                player.playSound(player.getLocation(), sound, 1.0f, 1.0f);
+            } catch (Exception ignored) {}
+        });
+    }
+
+    /**
+     * Accepts {@code playerId}'s application on behalf of {@code reviewer}.
+     * Everything but the messages happens even if the reviewer logs off
+     * before it finishes.
+     *
+     * @param then runs on the main thread after the reviewer has been told, if they are still online
+     */
+    public void accept(CommandSender reviewer, UUID playerId, Runnable then) {
+        String handler = reviewer.getName();
+        String knownName = plugin.getProfileCache().getName(playerId, null);
+        plugin.getCommandPipeline().submit(reviewer, playerId, () -> {
+            ApplicationStore store = plugin.getApplicationStore();
+            ApplicationRecord record = store.load(playerId);
+            if (record == null) {
+                return null;
+            }
+
+            String role = record.getRole();
+            record.accept(handler);
+
+            // Decided applications move to the player's history
+            store.delete(playerId);
+            plugin.getPendingIndex().remove(playerId);
+            plugin.savePlayerStatus(playerId, role, "accepted", null, handler);
+
+            plugin.getPermissionOutbox().grant(reviewer, playerId,
+                    knownName != null ? knownName : record.getPlayerName(), role);
+            plugin.logAction(handler, "ACCEPT", playerId, role);
+            return record;
+        }, record -> {
+            MessageUtils messageUtils = plugin.getMessageUtils();
+            if (record == null) {
+                messageUtils.sendMessage(reviewer, "application.not_found");
+                return;
+            }
+
+            String role = record.getRole();
+            String playerName = plugin.getProfileCache().getName(playerId, record.getPlayerName());
+            messageUtils.sendMessage(reviewer, "admin.accepted_application", playerName, role);
+
+            // Notify the player if online
+            Player targetPlayer = Bukkit.getPlayer(playerId);
+            if (targetPlayer != null && targetPlayer.isOnline()) {
+                messageUtils.sendMessage(targetPlayer, "application.accepted", role, handler);
+                try {
+                    Sound sound = Sound.valueOf(plugin.getConfig().getString("sounds.application_accept", "ENTITY_PLAYER_LEVELUP"));
+                    targetPlayer.playSound(targetPlayer.getLocation(), sound, 1.0f, 1.0f);
+                } catch (Exception ignored) {}
+            }
+
+            then.run();
+        });
+    }
+
+    /**
+     * Denies {@code playerId}'s application on behalf of {@code reviewer}, like
+     * {@link #accept}.
+     */
+    public void deny(CommandSender reviewer, UUID playerId, String reason, Runnable then) {
+        String handler = reviewer.getName();
+        plugin.getCommandPipeline().submit(reviewer, playerId, () -> {
+            ApplicationStore store = plugin.getApplicationStore();
+            ApplicationRecord record = store.load(playerId);
+            if (record == null) {
+                return null;
+            }
+
+            String role = record.getRole();
+            record.deny(handler, reason);
+
+            // Decided applications move to the player's history
+            store.delete(playerId);
+            plugin.getPendingIndex().remove(playerId);
+            plugin.savePlayerStatus(playerId, role, "denied", reason, handler);
+            plugin.getDeadlineScheduler().scheduleCooldown(playerId, role, System.currentTimeMillis());
+            plugin.logAction(handler, "DENY", playerId, role);
+            return record;
+        }, record -> {
+            MessageUtils messageUtils = plugin.getMessageUtils();
+            if (record == null) {
+                messageUtils.sendMessage(reviewer, "application.not_found");
+                return;
+            }
+
+            String role = record.getRole();
+            String playerName = plugin.getProfileCache().getName(playerId, record.getPlayerName());
+            messageUtils.sendMessage(reviewer, "admin.denied_application", playerName, role, reason);
+
+            // Notify the player if online
+            Player targetPlayer = Bukkit.getPlayer(playerId);
+            if (targetPlayer != null && targetPlayer.isOnline()) {
+                messageUtils.sendMessage(targetPlayer, "application.denied", role, handler, reason);
+                try {
+                    Sound sound = Sound.valueOf(plugin.getConfig().getString("sounds.application_deny", "ENTITY_VILLAGER_NO"));
+                    targetPlayer.playSound(targetPlayer.getLocation(), sound, 1.0f, 1.0f);
+                } catch (Exception ignored) {}
+            }
+
+            then.run();
+        });
+    }
+}
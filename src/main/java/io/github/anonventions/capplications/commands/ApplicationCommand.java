@@ -1,47 +1,59 @@
 package io.github.anonventions.capplications.commands;
 
 import io.github.anonventions.capplications.CApplications;
+import io.github.anonventions.capplications.gui.ListDataSource;
 import io.github.anonventions.capplications.gui.PaginatedGUI;
+import io.github.anonventions.capplications.index.PendingIndex;
+import io.github.anonventions.capplications.purge.PurgeEngine;
+import io.github.anonventions.capplications.roles.PlayerSnapshot;
+import io.github.anonventions.capplications.roles.Requirement;
+import io.github.anonventions.capplications.roles.RoleDefinition;
+import io.github.anonventions.capplications.session.AnswerSession;
+import io.github.anonventions.capplications.storage.ApplicationRecord;
+import io.github.anonventions.capplications.storage.ApplicationStore;
+import io.github.anonventions.capplications.storage.StatusEntry;
 import io.github.anonventions.capplications.utils.ApplicationValidator;
 import io.github.anonventions.capplications.utils.MessageUtils;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.Material;
 import org.bukkit.OfflinePlayer;
-import org.bukkit.Sound;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
-import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
-import org.json.simple.JSONArray;
-import org.json.simple.JSONObject;
 
-import java.io.File;
 import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
 public class ApplicationCommand implements CommandExecutor {
 
     private final CApplications plugin;
+    private final ApplicationStore store;
     private final MessageUtils messageUtils;
     private final ApplicationValidator validator;
+    private final CommandPipeline pipeline;
+    private final ApplicationActions actions;
 
     public ApplicationCommand(CApplications plugin) {
         this.plugin = plugin;
-        this.messageUtils = new MessageUtils(plugin);
+        this.store = plugin.getApplicationStore();
+        this.messageUtils = plugin.getMessageUtils();
         this.validator = new ApplicationValidator(plugin);
+        this.pipeline = plugin.getCommandPipeline();
+        this.actions = new ApplicationActions(plugin);
     }
 
     @Override
@@ -51,7 +63,7 @@ public class ApplicationCommand implements CommandExecutor {
                 sender.sendMessage(ChatColor.RED + "This command must be used by a player.");
                 return true;
             }
-            showAvailableApplications((Player) sender);
+            showAvailableApplications((Player) sender, null);
             return true;
         }
 
@@ -61,6 +73,13 @@ public class ApplicationCommand implements CommandExecutor {
             case "help":
                 showHelp(sender);
                 break;
+            case "available":
+                if (!(sender instanceof Player)) {
+                    messageUtils.sendMessage(sender, "player_only");
+                    return true;
+                }
+                showAvailableApplications((Player) sender, args.length > 1 ? args[1].toLowerCase() : null);
+                break;
             case "continue":
                 if (!(sender instanceof Player)) {
                     messageUtils.sendMessage(sender, "player_only");
@@ -107,7 +126,7 @@ public class ApplicationCommand implements CommandExecutor {
                 }
                 UUID acceptId = parsePlayerUUID(args[1]);
                 if (acceptId != null) {
-                    processAcceptance(sender, acceptId);
+                    actions.accept(sender, acceptId, () -> {});
                 } else {
                     messageUtils.sendErrorMessage(sender, "Invalid player identifier.");
                 }
@@ -124,7 +143,7 @@ public class ApplicationCommand implements CommandExecutor {
                 UUID denyId = parsePlayerUUID(args[1]);
                 if (denyId != null) {
                     String reason = args.length > 2 ? String.join(" ", java.util.Arrays.copyOfRange(args, 2, args.length)) : "Denied by console";
-                    processDenial(sender, denyId, reason);
+                    actions.deny(sender, denyId, reason, () -> {});
                 } else {
                     messageUtils.sendErrorMessage(sender, "Invalid player identifier.");
                 }
@@ -134,7 +153,14 @@ public class ApplicationCommand implements CommandExecutor {
                     messageUtils.sendNoPermissionMessage(sender);
                     return true;
                 }
-                showApplicationStatistics(sender);
+                showApplicationStatistics(sender, args);
+                break;
+            case "metrics":
+                if (!sender.hasPermission("capplications.admin")) {
+                    messageUtils.sendNoPermissionMessage(sender);
+                    return true;
+                }
+                showMetrics(sender);
                 break;
             case "roles":
                 showAvailableRoles(sender);
@@ -144,8 +170,7 @@ public class ApplicationCommand implements CommandExecutor {
                     messageUtils.sendNoPermissionMessage(sender);
                     return true;
                 }
-                int days = args.length > 1 ? Integer.parseInt(args[1]) : 30;
-                purgeOldApplications(sender, days);
+                handlePurge(sender, args);
                 break;
             case "reload":
                 if (!sender.hasPermission("capplications.admin")) {
@@ -202,14 +227,17 @@ public class ApplicationCommand implements CommandExecutor {
             sender.sendMessage(ChatColor.AQUA + "Admin Commands:");
             sender.sendMessage(ChatColor.YELLOW + "/app accept <player>" + ChatColor.WHITE + " - Accept application");
             sender.sendMessage(ChatColor.YELLOW + "/app deny <player> [reason]" + ChatColor.WHITE + " - Deny application");
-            sender.sendMessage(ChatColor.YELLOW + "/app stats" + ChatColor.WHITE + " - View statistics");
+            sender.sendMessage(ChatColor.YELLOW + "/app available [role]" + ChatColor.WHITE + " - Review pending applications");
+            sender.sendMessage(ChatColor.YELLOW + "/app stats [--role <role>] [--since <days>]" + ChatColor.WHITE + " - View statistics");
         }
 
         if (sender.hasPermission("capplications.admin")) {
             sender.sendMessage(ChatColor.RED + "Super Admin Commands:");
             sender.sendMessage(ChatColor.YELLOW + "/app reload" + ChatColor.WHITE + " - Reload configuration");
-            sender.sendMessage(ChatColor.YELLOW + "/app purge [days]" + ChatColor.WHITE + " - Purge old applications");
+            sender.sendMessage(ChatColor.YELLOW + "/app purge [days] [--dry-run]" + ChatColor.WHITE + " - Purge old applications");
+            sender.sendMessage(ChatColor.YELLOW + "/app purge <cancel|resume>" + ChatColor.WHITE + " - Control a running purge");
             sender.sendMessage(ChatColor.YELLOW + "/app cooldown <player>" + ChatColor.WHITE + " - Check cooldowns");
+            sender.sendMessage(ChatColor.YELLOW + "/app metrics" + ChatColor.WHITE + " - View internal metrics");
         }
     }
 
@@ -222,14 +250,12 @@ public class ApplicationCommand implements CommandExecutor {
             return;
         }
 
-        // Check if player has active application
-        if (validator.hasActiveApplication(playerId)) {
-            messageUtils.sendMessage(player, "application.already_applied");
-            return;
-        }
-
         // Check cooldown
         long cooldown = validator.getApplicationCooldown(playerId, role);
+        if (cooldown < 0) {
+            messageUtils.sendMessage(player, "error.not_ready");
+            return;
+        }
         if (cooldown > 0) {
             String timeLeft = formatDuration(cooldown);
             messageUtils.sendMessage(player, "application.cooldown", timeLeft, role);
@@ -237,214 +263,127 @@ public class ApplicationCommand implements CommandExecutor {
         }
 
         // Check requirements
-        if (!validator.meetsRoleRequirements(player, role)) {
-            List<String> requirements = plugin.getCustomConfig().getStringList("applications." + role + ".requirements");
+        RoleDefinition definition = plugin.getRoleRegistry().get(role);
+        if (definition == null) {
+            messageUtils.sendMessage(player, "error.invalid_role");
+            return;
+        }
+        List<Requirement> unmet = plugin.getRequirementChecker().unmet(plugin.getRequirementChecker().snapshot(player), definition);
+        if (!unmet.isEmpty()) {
             messageUtils.sendMessage(player, "application.requirements_not_met");
-            for (String requirement : requirements) {
-                player.sendMessage(ChatColor.RED + "- " + requirement);
+            for (Requirement requirement : unmet) {
+                player.sendMessage(ChatColor.RED + "- " + requirement.getDescription());
             }
             return;
         }
 
         // Start application
-        List<String> questions = plugin.getCustomConfig().getStringList("applications." + role + ".questions");
+        List<String> questions = definition.getQuestions();
         if (questions.isEmpty()) {
             messageUtils.sendErrorMessage(player, "No questions configured for this role.");
             return;
         }
 
-        FileConfiguration applicationConfig = new org.bukkit.configuration.file.YamlConfiguration();
-        applicationConfig.set("playerName", player.getName());
-        applicationConfig.set("role", role);
-        applicationConfig.set("status", "in progress");
-        applicationConfig.set("startTime", System.currentTimeMillis());
-        applicationConfig.set("questions", questions);
-        applicationConfig.set("answers", new ArrayList<String>());
+        String playerName = player.getName();
+        pipeline.submit(player, playerId, () -> {
+            // Check if player has active application
+            if (validator.hasActiveApplication(playerId)) {
+                return null;
+            }
 
-        plugin.saveApplication(playerId, applicationConfig);
-        plugin.getPlayerAnswers().put(playerId, new ArrayList<>());
-        plugin.getPlayerQuestionIndex().put(playerId, 0);
+            ApplicationRecord record = new ApplicationRecord(playerId, playerName, role, questions);
+            store.save(record);
+            plugin.getPendingIndex().update(record);
+            return record;
+        }, record -> {
+            if (record == null) {
+                messageUtils.sendMessage(player, "application.already_applied");
+                return;
+            }
 
-        messageUtils.sendMessage(player, "application.started", role);
-        askNextQuestion(player);
+            plugin.getSessionManager().start(record);
+            messageUtils.sendMessage(player, "application.started", role);
+            askNextQuestion(player);
+        });
     }
 
     private void askNextQuestion(Player player) {
-        UUID playerId = player.getUniqueId();
-        Integer questionIndex = plugin.getPlayerQuestionIndex().get(playerId);
-        if (questionIndex == null) return;
-
-        FileConfiguration applicationConfig = plugin.loadApplication(playerId);
-        if (applicationConfig == null) return;
-
-        List<String> questions = applicationConfig.getStringList("questions");
+        AnswerSession session = plugin.getSessionManager().get(player.getUniqueId());
+        if (session == null) return;
 
-        if (questionIndex < questions.size()) {
-            String question = ChatColor.translateAlternateColorCodes('&', questions.get(questionIndex));
-            player.sendMessage(ChatColor.YELLOW + "Question " + (questionIndex + 1) + "/" + questions.size() + ": " + question);
+        String nextQuestion = session.getCurrentQuestion();
+        if (nextQuestion != null) {
+            String question = ChatColor.translateAlternateColorCodes('&', nextQuestion);
+            player.sendMessage(ChatColor.YELLOW + "Question " + (session.getQuestionIndex() + 1) + "/" + session.getQuestionCount() + ": " + question);
             player.sendMessage(ChatColor.GRAY + "Type your answer in chat:");
         } else {
-            completeApplication(player);
-        }
-    }
-
-    private void completeApplication(Player player) {
-        UUID playerId = player.getUniqueId();
-        FileConfiguration applicationConfig = plugin.loadApplication(playerId);
-
-        if (applicationConfig != null) {
-            String role = applicationConfig.getString("role");
-            applicationConfig.set("status", "pending");
-            applicationConfig.set("submissionTime", System.currentTimeMillis());
-            plugin.saveApplication(playerId, applicationConfig);
-
-            plugin.logAction(player.getName(), "SUBMIT", playerId, role);
-            messageUtils.sendMessage(player, "application.completed", role);
-
-            // Play sound
-            try {
-                Sound sound = Sound.valueOf(plugin.getConfig().getString("sounds.application_submit", "ENTITY_EXPERIENCE_ORB_PICKUP"));
-                player.playSound(player.getLocation(), sound, 1.0f, 1.0f);
-            } catch (Exception ignored) {}
-
-            // Notify admins
-            notifyAdminsOfNewApplication(player.getName(), role);
+            actions.submit(player);
         }
-
-        plugin.getPlayerQuestionIndex().remove(playerId);
-        plugin.getPlayerAnswers().remove(playerId);
-    }
-
-    private void processAcceptance(CommandSender sender, UUID playerId) {
-        FileConfiguration applicationConfig = plugin.loadApplication(playerId);
-        if (applicationConfig == null) {
-            messageUtils.sendMessage(sender, "application.not_found");
-            return;
-        }
-
-        String role = applicationConfig.getString("role");
-        applicationConfig.set("status", "accepted");
-        applicationConfig.set("acceptedBy", sender.getName());
-        applicationConfig.set("acceptedTime", System.currentTimeMillis());
-
-        plugin.saveApplication(playerId, applicationConfig);
-        plugin.deleteApplication(playerId);
-        plugin.savePlayerStatus(playerId, role, "accepted", null, sender.getName());
-
-        // Grant permissions
-        grantRolePermissions(playerId, role);
-
-        messageUtils.sendMessage(sender, "admin.accepted_application", Bukkit.getOfflinePlayer(playerId).getName(), role);
-
-        // Notify the player if online
-        Player targetPlayer = Bukkit.getPlayer(playerId);
-        if (targetPlayer != null && targetPlayer.isOnline()) {
-            messageUtils.sendMessage(targetPlayer, "application.accepted", role, sender.getName());
-            try {
-                Sound sound = Sound.valueOf(plugin.getConfig().getString("sounds.application_accept", "ENTITY_PLAYER_LEVELUP"));
-                targetPlayer.playSound(targetPlayer.getLocation(), sound, 1.0f, 1.0f);
-            } catch (Exception ignored) {}
-        }
-
-        plugin.logAction(sender.getName(), "ACCEPT", playerId, role);
-    }
-
-    private void processDenial(CommandSender sender, UUID playerId, String reason) {
-        FileConfiguration applicationConfig = plugin.loadApplication(playerId);
-        if (applicationConfig == null) {
-            messageUtils.sendMessage(sender, "application.not_found");
-            return;
-        }
-
-        String role = applicationConfig.getString("role");
-        applicationConfig.set("status", "denied");
-        applicationConfig.set("denialReason", reason);
-        applicationConfig.set("deniedBy", sender.getName());
-        applicationConfig.set("deniedTime", System.currentTimeMillis());
-
-        plugin.saveApplication(playerId, applicationConfig);
-        plugin.deleteApplication(playerId);
-        plugin.savePlayerStatus(playerId, role, "denied", reason, sender.getName());
-
-        messageUtils.sendMessage(sender, "admin.denied_application", Bukkit.getOfflinePlayer(playerId).getName(), role, reason);
-
-        // Notify the player if online
-        Player targetPlayer = Bukkit.getPlayer(playerId);
-        if (targetPlayer != null && targetPlayer.isOnline()) {
-            messageUtils.sendMessage(targetPlayer, "application.denied", role, sender.getName(), reason);
-            try {
-                Sound sound = Sound.valueOf(plugin.getConfig().getString("sounds.application_deny", "ENTITY_VILLAGER_NO"));
-                targetPlayer.playSound(targetPlayer.getLocation(), sound, 1.0f, 1.0f);
-            } catch (Exception ignored) {}
-        }
-
-        plugin.logAction(sender.getName(), "DENY", playerId, role);
     }
 
     private void continueApplication(Player player) {
         UUID playerId = player.getUniqueId();
-        FileConfiguration applicationConfig = plugin.loadApplication(playerId);
-
-        if (applicationConfig == null || !"in progress".equals(applicationConfig.getString("status"))) {
-            messageUtils.sendMessage(player, "application.not_found");
-            return;
-        }
-
-        String role = applicationConfig.getString("role");
-        List<String> answers = applicationConfig.getStringList("answers");
+        pipeline.submit(player, playerId, () -> store.load(playerId), record -> {
+            if (record == null || !record.hasStatus(ApplicationRecord.STATUS_IN_PROGRESS)) {
+                messageUtils.sendMessage(player, "application.not_found");
+                return;
+            }
 
-        plugin.getPlayerAnswers().put(playerId, new ArrayList<>(answers));
-        plugin.getPlayerQuestionIndex().put(playerId, answers.size());
+            // An open session may hold answers that haven't been checkpointed yet
+            String role = record.getRole();
+            if (!plugin.getSessionManager().hasSession(playerId)) {
+                plugin.getSessionManager().start(record);
+            }
 
-        messageUtils.sendMessage(player, "application.continuing", role);
-        askNextQuestion(player);
+            messageUtils.sendMessage(player, "application.continuing", role);
+            askNextQuestion(player);
+        });
     }
 
     private void cancelApplication(Player player) {
         UUID playerId = player.getUniqueId();
-        FileConfiguration applicationConfig = plugin.loadApplication(playerId);
-
-        if (applicationConfig == null || !"in progress".equals(applicationConfig.getString("status"))) {
-            messageUtils.sendMessage(player, "application.not_found");
-            return;
-        }
+        String playerName = player.getName();
+        pipeline.submit(player, playerId, () -> {
+            ApplicationRecord record = store.load(playerId);
+            if (record == null || !record.hasStatus(ApplicationRecord.STATUS_IN_PROGRESS)) {
+                return null;
+            }
 
-        String role = applicationConfig.getString("role");
-        plugin.deleteApplication(playerId);
-        plugin.getPlayerQuestionIndex().remove(playerId);
-        plugin.getPlayerAnswers().remove(playerId);
+            store.delete(playerId);
+            plugin.getPendingIndex().remove(playerId);
+            plugin.getSessionManager().finish(playerId);
+            plugin.logAction(playerName, "CANCEL", playerId, record.getRole());
+            return record;
+        }, record -> {
+            if (record == null) {
+                messageUtils.sendMessage(player, "application.not_found");
+                return;
+            }
 
-        messageUtils.sendMessage(player, "application.cancelled", role);
-        plugin.logAction(player.getName(), "CANCEL", playerId, role);
+            messageUtils.sendMessage(player, "application.cancelled", record.getRole());
+        });
     }
 
     private void showApplicationStatus(Player player) {
         UUID playerId = player.getUniqueId();
-        List<ItemStack> items = new ArrayList<>();
-
-        JSONArray applications = plugin.loadPlayerStatus(playerId);
-        for (Object obj : applications) {
-            JSONObject application = (JSONObject) obj;
-            String role = (String) application.get("role");
-            String status = (String) application.get("status");
-            long timestamp = (long) application.get("timestamp");
-
-            ItemStack item = createStatusItem(role, status, application, timestamp);
-            items.add(item);
-        }
-
-        if (items.isEmpty()) {
-            messageUtils.sendInfoMessage(player, "You have no application history.");
-            return;
-        }
+        pipeline.submit(player, () -> plugin.loadPlayerStatus(playerId), history -> {
+            if (history.isEmpty()) {
+                messageUtils.sendInfoMessage(player, "You have no application history.");
+                return;
+            }
 
-        String statusTitle = ChatColor.translateAlternateColorCodes('&',
-                plugin.getConfig().getString("gui.titles.status", "Your Applications"));
-        PaginatedGUI.showGUI(player, items, 0, statusTitle);
+            String statusTitle = ChatColor.translateAlternateColorCodes('&',
+                    plugin.getConfig().getString("gui.titles.status", "Your Applications"));
+            PaginatedGUI.open(player, new ListDataSource<>(history, this::createStatusItem), 0, statusTitle);
+        });
     }
 
     private void showApplicationHistory(CommandSender sender, UUID targetId) {
-        JSONArray applications = plugin.loadPlayerStatus(targetId);
+        pipeline.submit(sender, () -> plugin.loadPlayerStatus(targetId),
+                applications -> sendApplicationHistory(sender, targetId, applications));
+    }
+
+    private void sendApplicationHistory(CommandSender sender, UUID targetId, List<StatusEntry> applications) {
         OfflinePlayer target = Bukkit.getOfflinePlayer(targetId);
 
         sender.sendMessage(ChatColor.GOLD + "Application History for: " + ChatColor.WHITE + target.getName());
@@ -455,13 +394,11 @@ public class ApplicationCommand implements CommandExecutor {
             return;
         }
 
-        for (Object obj : applications) {
-            JSONObject app = (JSONObject) obj;
-            String role = (String) app.get("role");
-            String status = (String) app.get("status");
-            long timestamp = (long) app.get("timestamp");
+        for (StatusEntry app : applications) {
+            String role = app.getRole();
+            String status = app.getStatus();
 
-            LocalDateTime date = LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault());
+            LocalDateTime date = LocalDateTime.ofInstant(Instant.ofEpochMilli(app.getTimestamp()), ZoneId.systemDefault());
             String formattedDate = date.format(DateTimeFormatter.ofPattern("MMM dd, yyyy HH:mm"));
 
             ChatColor statusColor = getStatusColor(status);
@@ -469,34 +406,43 @@ public class ApplicationCommand implements CommandExecutor {
         }
     }
 
-    private void showApplicationStatistics(CommandSender sender) {
+    private void showApplicationStatistics(CommandSender sender, String[] args) {
+        String role = null;
+        long sinceDay = Long.MIN_VALUE;
+
+        for (int i = 1; i < args.length; i++) {
+            if ("--role".equalsIgnoreCase(args[i]) && i + 1 < args.length) {
+                role = args[++i].toLowerCase();
+            } else if ("--since".equalsIgnoreCase(args[i]) && i + 1 < args.length) {
+                sinceDay = parseSinceDay(args[++i]);
+                if (sinceDay == Long.MIN_VALUE) {
+                    sender.sendMessage(ChatColor.RED + "Invalid --since value. Use a number of days or a date like 2024-01-31.");
+                    return;
+                }
+            } else {
+                sender.sendMessage(ChatColor.RED + "Usage: /app stats [--role <role>] [--since <days|yyyy-MM-dd>]");
+                return;
+            }
+        }
+
+        Map<String, Map<String, Integer>> counts = plugin.getStatsAggregator().query(role, sinceDay);
         Map<String, Integer> roleStats = new HashMap<>();
         Map<String, Integer> statusStats = new HashMap<>();
         int totalApplications = 0;
 
-        File playerdataFolder = new File(plugin.getDataFolder(), "playerdata");
-        File[] files = playerdataFolder.listFiles();
-
-        if (files != null) {
-            for (File file : files) {
-                if (file.getName().endsWith(".json")) {
-                    JSONArray applications = plugin.loadPlayerStatus(
-                            UUID.fromString(file.getName().replace(".json", "")));
-
-                    for (Object obj : applications) {
-                        JSONObject app = (JSONObject) obj;
-                        String role = (String) app.get("role");
-                        String status = (String) app.get("status");
-
-                        roleStats.merge(role, 1, Integer::sum);
-                        statusStats.merge(status, 1, Integer::sum);
-                        totalApplications++;
-                    }
-                }
+        for (Map.Entry<String, Map<String, Integer>> roleEntry : counts.entrySet()) {
+            for (Map.Entry<String, Integer> statusEntry : roleEntry.getValue().entrySet()) {
+                roleStats.merge(roleEntry.getKey(), statusEntry.getValue(), Integer::sum);
+                statusStats.merge(statusEntry.getKey(), statusEntry.getValue(), Integer::sum);
+                totalApplications += statusEntry.getValue();
             }
         }
 
         sender.sendMessage(ChatColor.GOLD + "======= Application Statistics =======");
+        if (role != null || sinceDay != Long.MIN_VALUE) {
+            sender.sendMessage(ChatColor.GRAY + "Role: " + (role != null ? role : "all") + ", since: "
+                    + (sinceDay != Long.MIN_VALUE ? LocalDate.ofEpochDay(sinceDay).toString() : "all time"));
+        }
         sender.sendMessage(ChatColor.YELLOW + "Total Applications: " + ChatColor.WHITE + totalApplications);
         sender.sendMessage("");
         sender.sendMessage(ChatColor.AQUA + "By Status:");
@@ -504,68 +450,132 @@ public class ApplicationCommand implements CommandExecutor {
                 sender.sendMessage(ChatColor.WHITE + "  " + status + ": " + count));
         sender.sendMessage("");
         sender.sendMessage(ChatColor.AQUA + "By Role:");
-        roleStats.forEach((role, count) ->
-                sender.sendMessage(ChatColor.WHITE + "  " + role + ": " + count));
+        roleStats.forEach((roleName, count) ->
+                sender.sendMessage(ChatColor.WHITE + "  " + roleName + ": " + count));
+    }
+
+    /**
+     * @return the epoch day for a day count or ISO date, or {@link Long#MIN_VALUE} if invalid
+     */
+    private long parseSinceDay(String value) {
+        try {
+            int days = Integer.parseInt(value);
+            return days < 0 ? Long.MIN_VALUE : LocalDate.now().minusDays(days).toEpochDay();
+        } catch (NumberFormatException ignored) {
+        }
+
+        try {
+            return LocalDate.parse(value).toEpochDay();
+        } catch (DateTimeParseException e) {
+            return Long.MIN_VALUE;
+        }
+    }
+
+    private void showMetrics(CommandSender sender) {
+        sender.sendMessage(ChatColor.GOLD + "======= cApplications Metrics =======");
+        for (String line : plugin.getAuditLogger().describeMetrics()) {
+            sender.sendMessage(ChatColor.WHITE + line);
+        }
+        sender.sendMessage(ChatColor.WHITE + "Pending applications: " + plugin.getPendingIndex().size());
+        sender.sendMessage(ChatColor.WHITE + "Scheduled deadlines: " + plugin.getDeadlineScheduler().size());
+        sender.sendMessage(ChatColor.WHITE + "Cooldown index players: " + plugin.getCooldownIndex().size());
+        sender.sendMessage(ChatColor.WHITE + "Cached player profiles: " + plugin.getProfileCache().size());
+        sender.sendMessage(ChatColor.WHITE + "Pending permission changes: " + plugin.getPermissionOutbox().size());
+        sender.sendMessage(ChatColor.WHITE + "Online reviewers: " + plugin.getReviewerNotifier().size());
+        sender.sendMessage(ChatColor.WHITE + "Commands in flight: " + pipeline.size()
+                + " (" + pipeline.getSlowCount() + " slow)");
+        sender.sendMessage(ChatColor.WHITE + "Main thread queue: " + plugin.getDispatcher().size()
+                + " (" + plugin.getDispatcher().getDeferredTicks() + " ticks over budget)");
+        sender.sendMessage(ChatColor.WHITE + plugin.getWorkScheduler().describeMetrics());
+        for (String line : plugin.getFileWriter().describeMetrics()) {
+            sender.sendMessage(ChatColor.WHITE + line);
+        }
+        for (String line : plugin.getStripedExecutor().describeMetrics()) {
+            sender.sendMessage(ChatColor.WHITE + line);
+        }
     }
 
     private void showAvailableRoles(CommandSender sender) {
-        Set<String> roles = plugin.getCustomConfig().getConfigurationSection("applications").getKeys(false);
+        // One snapshot answers every role's requirements
+        PlayerSnapshot snapshot = sender instanceof Player
+                ? plugin.getRequirementChecker().snapshot((Player) sender) : null;
 
         sender.sendMessage(ChatColor.GOLD + "Available Roles:");
-        for (String role : roles) {
-            String displayName = plugin.getCustomConfig().getString("applications." + role + ".display_name", role);
-            String description = plugin.getCustomConfig().getString("applications." + role + ".description", "");
-            List<String> requirements = plugin.getCustomConfig().getStringList("applications." + role + ".requirements");
+        for (RoleDefinition role : plugin.getRoleRegistry().getRoles()) {
+            String description = role.getDescription();
 
-            sender.sendMessage(ChatColor.translateAlternateColorCodes('&', ChatColor.YELLOW + "● " + displayName));
+            sender.sendMessage(ChatColor.YELLOW + "● " + role.getDisplayName());
             if (!description.isEmpty()) {
                 sender.sendMessage(ChatColor.GRAY + "  " + description);
             }
-            if (!requirements.isEmpty() && sender.hasPermission("capplications.manage")) {
-                sender.sendMessage(ChatColor.GRAY + "  Requirements: " + String.join(", ", requirements));
+            for (Requirement requirement : role.getRequirements()) {
+                if (snapshot == null || !requirement.isChecked()) {
+                    sender.sendMessage(ChatColor.GRAY + "  • " + requirement.getDescription());
+                } else if (requirement.test(snapshot)) {
+                    sender.sendMessage(ChatColor.GREEN + "  ✔ " + requirement.getDescription());
+                } else {
+                    sender.sendMessage(ChatColor.RED + "  ✘ " + requirement.getDescription());
+                }
             }
         }
     }
 
-    private void purgeOldApplications(CommandSender sender, int days) {
-        long cutoffTime = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(days);
-        int purgedCount = 0;
-
-        File playerdataFolder = new File(plugin.getDataFolder(), "playerdata");
-        File[] files = playerdataFolder.listFiles();
-
-        if (files != null) {
-            for (File file : files) {
-                if (file.getName().endsWith(".json")) {
-                    UUID playerId = UUID.fromString(file.getName().replace(".json", ""));
-                    JSONArray applications = plugin.loadPlayerStatus(playerId);
-
-                    applications.removeIf(obj -> {
-                        JSONObject app = (JSONObject) obj;
-                        long timestamp = (long) app.get("timestamp");
-                        return timestamp < cutoffTime;
-                    });
-
-                    if (applications.isEmpty()) {
-                        file.delete();
-                        purgedCount++;
-                    } else {
-                        plugin.savePlayerStatusArray(playerId, applications);
-                    }
-                }
+    private void handlePurge(CommandSender sender, String[] args) {
+        PurgeEngine purgeEngine = plugin.getPurgeEngine();
+        String action = args.length > 1 ? args[1].toLowerCase() : "";
+
+        if ("cancel".equals(action)) {
+            if (!purgeEngine.cancel()) {
+                messageUtils.sendMessage(sender, "admin.purge_not_running");
             }
+            return;
         }
 
-        messageUtils.sendMessage(sender, "admin.purged_applications", purgedCount);
+        if ("resume".equals(action)) {
+            if (purgeEngine.isRunning()) {
+                messageUtils.sendMessage(sender, "admin.purge_running");
+            } else if (!purgeEngine.resume(sender)) {
+                messageUtils.sendMessage(sender, "admin.purge_no_checkpoint");
+            }
+            return;
+        }
+
+        int days = 30;
+        boolean dryRun = false;
+        for (int i = 1; i < args.length; i++) {
+            if ("--dry-run".equalsIgnoreCase(args[i])) {
+                dryRun = true;
+                continue;
+            }
+
+            try {
+                days = Integer.parseInt(args[i]);
+            } catch (NumberFormatException e) {
+                days = -1;
+            }
+            if (days <= 0) {
+                messageUtils.sendMessage(sender, "admin.invalid_days");
+                return;
+            }
+        }
+
+        long cutoffTime = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(days);
+        if (!purgeEngine.start(sender, cutoffTime, dryRun)) {
+            messageUtils.sendMessage(sender, "admin.purge_running");
+        }
     }
 
     private void checkApplicationCooldown(CommandSender sender, Player target) {
+        if (plugin.getCooldownIndex().get(target.getUniqueId()) == null) {
+            messageUtils.sendMessage(sender, "error.not_ready");
+            return;
+        }
+
         sender.sendMessage(ChatColor.GOLD + "Application Cooldowns for " + target.getName() + ":");
 
-        Set<String> roles = plugin.getCustomConfig().getConfigurationSection("applications").getKeys(false);
         boolean hasCooldowns = false;
 
-        for (String role : roles) {
+        for (String role : plugin.getRoleRegistry().getIds()) {
             long cooldown = validator.getApplicationCooldown(target.getUniqueId(), role);
             if (cooldown > 0) {
                 String timeLeft = formatDuration(cooldown);
@@ -586,54 +596,39 @@ public class ApplicationCommand implements CommandExecutor {
         try {
             return UUID.fromString(input);
         } catch (IllegalArgumentException e) {
+            // Applicants are looked up by name without touching the user cache
+            PendingIndex.Entry pending = plugin.getPendingIndex().getByName(input);
+            if (pending != null) {
+                return pending.getPlayerId();
+            }
+
             OfflinePlayer player = Bukkit.getOfflinePlayer(input);
             return player.hasPlayedBefore() ? player.getUniqueId() : null;
         }
     }
 
-    private void grantRolePermissions(UUID playerId, String role) {
-        try {
-            // This would integrate with LuckPerms
-            // Implementation depends on specific permission setup
-            plugin.getLogger().info("Granted permissions for role '" + role + "' to player: " + playerId);
-        } catch (Exception e) {
-            plugin.getLogger().warning("Failed to grant permissions for role: " + role);
-        }
-    }
-
-    private void notifyAdminsOfNewApplication(String playerName, String role) {
-        String message = ChatColor.translateAlternateColorCodes('&',
-                plugin.getConfig().getString("messages.admin.notification",
-                        "&b[cApplications] &f{0}&b submitted an application for &f{1}&b."));
-        message = message.replace("{0}", playerName).replace("{1}", role);
-
-        String finalMessage = message;
-        Bukkit.getOnlinePlayers().stream()
-                .filter(p -> p.hasPermission("capplications.notify"))
-                .forEach(p -> p.sendMessage(finalMessage));
-    }
-
-    private ItemStack createStatusItem(String role, String status, JSONObject application, long timestamp) {
+    private ItemStack createStatusItem(StatusEntry entry) {
+        String role = entry.getRole();
+        String status = entry.getStatus();
         Material material = getStatusMaterial(status);
         ChatColor statusColor = getStatusColor(status);
 
         ItemStack item = new ItemStack(material);
         ItemMeta meta = item.getItemMeta();
 
-        String displayName = plugin.getCustomConfig().getString("applications." + role + ".display_name", role);
-        meta.setDisplayName(ChatColor.GOLD + "Application: " + ChatColor.translateAlternateColorCodes('&', displayName));
+        meta.setDisplayName(ChatColor.GOLD + "Application: " + plugin.getRoleRegistry().getDisplayName(role));
 
         List<String> lore = new ArrayList<>();
         lore.add(ChatColor.YELLOW + "Status: " + statusColor + status);
 
-        LocalDateTime date = LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault());
+        LocalDateTime date = LocalDateTime.ofInstant(Instant.ofEpochMilli(entry.getTimestamp()), ZoneId.systemDefault());
         lore.add(ChatColor.GRAY + "Date: " + date.format(DateTimeFormatter.ofPattern("MMM dd, yyyy")));
 
-        if (application.containsKey("reason")) {
-            lore.add(ChatColor.RED + "Reason: " + application.get("reason"));
+        if (entry.getReason() != null) {
+            lore.add(ChatColor.RED + "Reason: " + entry.getReason());
         }
-        if (application.containsKey("handler")) {
-            lore.add(ChatColor.AQUA + "Handler: " + application.get("handler"));
+        if (entry.getHandler() != null) {
+            lore.add(ChatColor.AQUA + "Handler: " + entry.getHandler());
         }
 
         meta.setLore(lore);
@@ -677,80 +672,15 @@ public class ApplicationCommand implements CommandExecutor {
         }
     }
 
-    private void showAvailableApplications(Player player) {
-        List<ItemStack> items = new ArrayList<>();
-
-        File applicationsFolder = new File(plugin.getDataFolder(), "applications");
-        File[] applicationFiles = applicationsFolder.listFiles();
-
-        if (applicationFiles != null) {
-            for (File file : applicationFiles) {
-                if (file.getName().endsWith(".yml")) {
-                    FileConfiguration applicationConfig = org.bukkit.configuration.file.YamlConfiguration.loadConfiguration(file);
-                    String status = applicationConfig.getString("status", "unknown");
-
-                    // Only show pending applications for admins, all roles for regular players
-                    if (player.hasPermission("capplications.manage")) {
-                        if (!"pending".equals(status)) continue;
-                    } else {
-                        // Show available roles to apply for
-                        continue;
-                    }
-
-                    String role = applicationConfig.getString("role");
-                    String playerName = applicationConfig.getString("playerName", "Unknown");
-                    List<String> questions = applicationConfig.getStringList("questions");
-                    List<String> answers = applicationConfig.getStringList("answers");
-                    long submissionTime = applicationConfig.getLong("submissionTime");
-
-                    ItemStack playerHead = new ItemStack(Material.PLAYER_HEAD, 1);
-                    ItemMeta meta = playerHead.getItemMeta();
-                    UUID playerUUID = UUID.fromString(file.getName().replace(".yml", ""));
-
-                    meta.setDisplayName(ChatColor.GOLD + playerName);
-
-                    List<String> lore = new ArrayList<>();
-                    String displayName = plugin.getCustomConfig().getString("applications." + role + ".display_name", role);
-                    lore.add(ChatColor.YELLOW + "Role: " + ChatColor.translateAlternateColorCodes('&', displayName));
-                    lore.add(ChatColor.YELLOW + "Status: " + ChatColor.AQUA + status);
-
-                    LocalDateTime submitDate = LocalDateTime.ofInstant(Instant.ofEpochMilli(submissionTime), ZoneId.systemDefault());
-                    lore.add(ChatColor.GRAY + "Submitted: " + submitDate.format(DateTimeFormatter.ofPattern("MMM dd, yyyy")));
-                    lore.add("");
-
-                    // Show first few questions and answers
-                    for (int i = 0; i < Math.min(questions.size(), 3); i++) {
-                        String question = ChatColor.stripColor(ChatColor.translateAlternateColorCodes('&', questions.get(i)));
-                        lore.add(ChatColor.YELLOW + question);
-                        lore.add(ChatColor.WHITE + (i < answers.size() ? answers.get(i) : "No answer"));
-                        lore.add("");
-                    }
-
-                    if (questions.size() > 3) {
-                        lore.add(ChatColor.GRAY + "... and " + (questions.size() - 3) + " more questions");
-                    }
-
-                    lore.add(ChatColor.GREEN + "Click to review application");
-
-                    meta.setLore(lore);
-                    playerHead.setItemMeta(meta);
-                    items.add(playerHead);
-                }
-            }
-        }
-
-        if (items.isEmpty()) {
-            if (player.hasPermission("capplications.manage")) {
-                messageUtils.sendInfoMessage(player, "No pending applications found.");
-            } else {
-                // Show available roles to apply for
-                showAvailableRoles(player);
-            }
+    private void showAvailableApplications(Player player, String role) {
+        // Only show pending applications for admins, all roles for regular players
+        if (!player.hasPermission("capplications.manage")) {
+            showAvailableRoles(player);
             return;
         }
 
         String availableTitle = ChatColor.translateAlternateColorCodes('&',
                 plugin.getConfig().getString("gui.titles.available", "Available Applications"));
-        PaginatedGUI.showGUI(player, items, 0, availableTitle);
+        PaginatedGUI.showPendingApplications(player, plugin, role, availableTitle);
     }
-}
\ No newline at end of file
+}
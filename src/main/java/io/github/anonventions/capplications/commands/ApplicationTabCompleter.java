@@ -1,6 +1,8 @@
 package io.github.anonventions.capplications.commands;
 
 import io.github.anonventions.capplications.CApplications;
+import io.github.anonventions.capplications.roles.RoleRegistry;
+import io.github.anonventions.capplications.utils.CompletionTrie;
 import org.bukkit.Bukkit;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
@@ -10,61 +12,99 @@ import org.bukkit.entity.Player;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.Locale;
 
 public class ApplicationTabCompleter implements TabCompleter {
+
+    private static final List<String> PLAYER_SUBCOMMANDS = Arrays.asList(
+            "available", "continue", "status", "history", "cancel", "roles", "help");
+    private static final List<String> MANAGE_SUBCOMMANDS = Arrays.asList("accept", "deny", "stats");
+    private static final List<String> ADMIN_SUBCOMMANDS = Arrays.asList("reload", "purge", "export", "cooldown", "metrics");
+
     private final CApplications plugin;
 
+    // Subcommand tries indexed by (manage ? 1 : 0) | (admin ? 2 : 0), rebuilt when the roles change
+    private RoleRegistry compiledFor;
+    private CompletionTrie[] subcommands;
+    private CompletionTrie roles;
+
     public ApplicationTabCompleter(CApplications plugin) {
         this.plugin = plugin;
     }
 
     @Override
     public List<String> onTabComplete(CommandSender sender, Command command, String alias, String[] args) {
-        List<String> completions = new ArrayList<>();
+        compile();
 
         if (args.length == 1) {
-            List<String> subcommands = Arrays.asList(
-                    "available", "continue", "status", "history", "cancel", "roles", "help"
-            );
+            boolean manage = sender.hasPermission("capplications.manage");
+            boolean admin = sender.hasPermission("capplications.admin");
+            return copy(subcommands[(manage ? 1 : 0) | (admin ? 2 : 0)].complete(args[0]));
+        }
 
-            if (sender.hasPermission("capplications.manage")) {
-                subcommands.addAll(Arrays.asList("accept", "deny", "stats"));
+        if (args.length == 2) {
+            switch (args[0].toLowerCase(Locale.ROOT)) {
+                case "accept":
+                case "deny":
+                    if (sender.hasPermission("capplications.manage") || sender.hasPermission("capplications.admin")) {
+                        // Applicants are usually offline, so complete from the pending index
+                        return copy(plugin.getPendingIndex().getNames().complete(args[1]));
+                    }
+                    break;
+                case "cooldown":
+                    if (sender.hasPermission("capplications.manage") || sender.hasPermission("capplications.admin")) {
+                        return onlinePlayers(args[1]);
+                    }
+                    break;
+                case "export":
+                    if (sender.hasPermission("capplications.admin")) {
+                        return copy(roles.complete(args[1]));
+                    }
+                    break;
+                default:
+                    break;
             }
+        }
+
+        return new ArrayList<>(0);
+    }
 
-            if (sender.hasPermission("capplications.admin")) {
-                subcommands.addAll(Arrays.asList("reload", "purge", "export", "cooldown"));
+    private void compile() {
+        RoleRegistry registry = plugin.getRoleRegistry();
+        if (registry == compiledFor) {
+            return;
+        }
+
+        CompletionTrie[] tries = new CompletionTrie[4];
+        for (int mask = 0; mask < tries.length; mask++) {
+            List<String> words = new ArrayList<>(PLAYER_SUBCOMMANDS);
+            if ((mask & 1) != 0) {
+                words.addAll(MANAGE_SUBCOMMANDS);
             }
+            if ((mask & 2) != 0) {
+                words.addAll(ADMIN_SUBCOMMANDS);
+            }
+            words.addAll(registry.getIds());
+            tries[mask] = CompletionTrie.of(words);
+        }
 
-            // Add available roles
-            Set<String> roles = plugin.getCustomConfig().getConfigurationSection("applications").getKeys(false);
-            subcommands.addAll(roles);
-
-            completions.addAll(subcommands.stream()
-                    .filter(s -> s.toLowerCase().startsWith(args[0].toLowerCase()))
-                    .collect(Collectors.toList()));
-
-        } else if (args.length == 2) {
-            String subcommand = args[0].toLowerCase();
-
-            if (subcommand.equals("accept") || subcommand.equals("deny") || subcommand.equals("cooldown")) {
-                if (sender.hasPermission("capplications.manage") || sender.hasPermission("capplications.admin")) {
-                    completions.addAll(Bukkit.getOnlinePlayers().stream()
-                            .map(Player::getName)
-                            .filter(name -> name.toLowerCase().startsWith(args[1].toLowerCase()))
-                            .collect(Collectors.toList()));
-                }
-            } else if (subcommand.equals("export")) {
-                if (sender.hasPermission("capplications.admin")) {
-                    Set<String> roles = plugin.getCustomConfig().getConfigurationSection("applications").getKeys(false);
-                    completions.addAll(roles.stream()
-                            .filter(role -> role.toLowerCase().startsWith(args[1].toLowerCase()))
-                            .collect(Collectors.toList()));
-                }
+        subcommands = tries;
+        roles = CompletionTrie.of(registry.getIds());
+        compiledFor = registry;
+    }
+
+    private List<String> onlinePlayers(String prefix) {
+        List<String> names = new ArrayList<>();
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            if (player.getName().regionMatches(true, 0, prefix, 0, prefix.length())) {
+                names.add(player.getName());
             }
         }
+        return names;
+    }
 
-        return completions;
+    // Callers such as tab-complete events may modify the returned list
+    private static List<String> copy(List<String> completions) {
+        return completions.isEmpty() ? new ArrayList<>(0) : new ArrayList<>(completions);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,148 @@
+package io.github.anonventions.capplications.commands;
+
+import io.github.anonventions.capplications.CApplications;
+import io.github.anonventions.capplications.storage.StorageException;
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Runs the disk work behind a command off the main thread.
+ *
+ * <p>Callers validate on the main thread first, then {@link #submit} the
+ * storage work, which runs on the storage executor, or in order with every
+ * other change to the same player's application. Its result is handed to a
+ * continuation back on the main thread, where messages are sent and
+ * inventories opened. Failures are reported with the {@code error.*}
+ * messages, and each sender may only have a few requests running at once.</p>
+ */
+public class CommandPipeline {
+
+    private final CApplications plugin;
+
+    // Requests still running, per sender
+    private final Map<String, Integer> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicLong slow = new AtomicLong();
+
+    public CommandPipeline(CApplications plugin) {
+        this.plugin = plugin;
+    }
+
+    public <T> boolean submit(CommandSender sender, Supplier<T> work, Consumer<T> continuation) {
+        return submit(sender, null, work, continuation);
+    }
+
+    /**
+     * Runs {@code work} off the main thread and {@code continuation} with its
+     * result on the main thread.
+     *
+     * @param playerId if not {@code null}, {@code work} changes this player's application
+     *                 and is serialized with everything else that does
+     * @return {@code false} if the request was turned away; the sender has been told why
+     */
+    public <T> boolean submit(CommandSender sender, UUID playerId, Supplier<T> work, Consumer<T> continuation) {
+        String senderKey = sender instanceof Player ? ((Player) sender).getUniqueId().toString() : sender.getName();
+        int limit = Math.max(1, plugin.getConfig().getInt("advanced.command_max_in_flight", 3));
+
+        if (!acquire(senderKey, limit)) {
+            plugin.getMessageUtils().sendMessage(sender, "error.busy");
+            return false;
+        }
+
+        CompletableFuture<T> result;
+        try {
+            result = playerId != null
+                    ? plugin.getStripedExecutor().submit(playerId, work)
+                    : CompletableFuture.supplyAsync(work, plugin.getStorageExecutor());
+        } catch (RejectedExecutionException e) {
+            release(senderKey);
+            plugin.getMessageUtils().sendMessage(sender, "error.file_error");
+            return false;
+        }
+        running.incrementAndGet();
+
+        // Slow work is reported but not abandoned, since it may already have changed data
+        long timeout = Math.max(1, plugin.getConfig().getLong("advanced.command_timeout", 5)) * 20L;
+        BukkitTask notice = Bukkit.getScheduler().runTaskLater(plugin, () -> {
+            slow.incrementAndGet();
+            plugin.getLogger().warning("Command from " + sender.getName() + " is still running after "
+                    + timeout / 20 + "s");
+            if (isReachable(sender)) {
+                plugin.getMessageUtils().sendMessage(sender, "error.timeout");
+            }
+        }, timeout);
+
+        result.whenComplete((value, error) -> {
+            release(senderKey);
+            running.decrementAndGet();
+            if (!plugin.isEnabled()) return;
+
+            plugin.getDispatcher().dispatch(() -> {
+                notice.cancel();
+                if (error != null) {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error;
+                    plugin.getLogger().warning("Command from " + sender.getName() + " failed: " + cause.getMessage());
+                    if (isReachable(sender)) {
+                        plugin.getMessageUtils().sendMessage(sender, errorKey(cause));
+                    }
+                    return;
+                }
+                if (isReachable(sender)) {
+                    continuation.accept(value);
+                }
+            });
+        });
+        return true;
+    }
+
+    public int size() {
+        return running.get();
+    }
+
+    /**
+     * @return how many requests have outlived {@code advanced.command_timeout}
+     */
+    public long getSlowCount() {
+        return slow.get();
+    }
+
+    private boolean acquire(String senderKey, int limit) {
+        boolean[] acquired = new boolean[1];
+        inFlight.compute(senderKey, (k, count) -> {
+            int current = count == null ? 0 : count;
+            if (current >= limit) {
+                return count;
+            }
+            acquired[0] = true;
+            return current + 1;
+        });
+        return acquired[0];
+    }
+
+    private void release(String senderKey) {
+        inFlight.computeIfPresent(senderKey, (k, count) -> count <= 1 ? null : count - 1);
+    }
+
+    private static boolean isReachable(CommandSender sender) {
+        return !(sender instanceof Player) || ((Player) sender).isOnline();
+    }
+
+    private static String errorKey(Throwable cause) {
+        return cause instanceof StorageException ? "error.database_error" : "error.file_error";
+    }
+}
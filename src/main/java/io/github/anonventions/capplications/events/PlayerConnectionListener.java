@@ -0,0 +1,43 @@
+package io.github.anonventions.capplications.events;
+
+import io.github.anonventions.capplications.CApplications;
+import io.github.anonventions.capplications.storage.StorageException;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import java.util.UUID;
+
+public class PlayerConnectionListener implements Listener {
+
+    private final CApplications plugin;
+
+    public PlayerConnectionListener(CApplications plugin) {
+        this.plugin = plugin;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        UUID playerId = event.getPlayer().getUniqueId();
+        plugin.getCooldownIndex().load(playerId);
+        plugin.getProfileCache().resolve(playerId, event.getPlayer().getName());
+
+        // Warm the application cache so /app doesn't wait on disk
+        plugin.getStorageExecutor().execute(() -> {
+            try {
+                plugin.getApplicationStore().load(playerId);
+            } catch (StorageException e) {
+                plugin.getLogger().warning("Failed to load application for " + playerId + ": " + e.getMessage());
+            }
+        });
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        plugin.getCooldownIndex().evict(event.getPlayer().getUniqueId());
+        plugin.getRequirementChecker().evict(event.getPlayer().getUniqueId());
+        plugin.getApplicationStore().evict(event.getPlayer().getUniqueId());
+    }
+}
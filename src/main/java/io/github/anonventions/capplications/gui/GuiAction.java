@@ -0,0 +1,12 @@
+package io.github.anonventions.capplications.gui;
+
+/**
+ * What clicking a slot in one of the plugin's GUIs does.
+ */
+public enum GuiAction {
+    REVIEW,
+    PREVIOUS_PAGE,
+    NEXT_PAGE,
+    ACCEPT,
+    DENY
+}
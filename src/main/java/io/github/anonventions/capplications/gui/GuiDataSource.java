@@ -0,0 +1,49 @@
+package io.github.anonventions.capplications.gui;
+
+import org.bukkit.inventory.ItemStack;
+
+import java.util.UUID;
+
+/**
+ * Rows shown by a {@link GuiSession}. Items are built one at a time, and only
+ * for the page being displayed.
+ */
+public interface GuiDataSource {
+
+    int size();
+
+    /**
+     * Picks the rows of {@code page}, which {@link #render} then builds.
+     *
+     * @return the number of rows on the page
+     */
+    int select(int page, int pageSize);
+
+    /**
+     * @return whether the selected page needs a {@link #load} before it is rendered
+     */
+    default boolean needsLoad() {
+        return false;
+    }
+
+    /**
+     * Reads what the selected page needs from storage. Runs off the main
+     * thread, after {@link #select} and before any row is rendered.
+     */
+    default void load() {
+    }
+
+    /**
+     * Builds an item without touching storage. Main thread only.
+     *
+     * @return the item for row {@code index} of the selected page, or {@code null} to leave it out
+     */
+    ItemStack render(int index);
+
+    /**
+     * @return the player whose head is shown for row {@code index} of the selected page, if any
+     */
+    default UUID getHeadOwner(int index) {
+        return null;
+    }
+}
@@ -0,0 +1,49 @@
+package io.github.anonventions.capplications.gui;
+
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Holder of every inventory the plugin opens. Clicks are dispatched through
+ * its slot→action table, so other inventories are skipped with one
+ * {@code instanceof} check and no title or display-name matching.
+ */
+public abstract class GuiHolder implements InventoryHolder {
+
+    private final GuiAction[] actions;
+    protected Inventory inventory;
+
+    protected GuiHolder(int size) {
+        this.actions = new GuiAction[size];
+    }
+
+    /**
+     * @return the action bound to {@code rawSlot}, or {@code null} for slots outside the GUI
+     */
+    public GuiAction getAction(int rawSlot) {
+        return rawSlot >= 0 && rawSlot < actions.length ? actions[rawSlot] : null;
+    }
+
+    /**
+     * @return the player the action in {@code rawSlot} applies to, if any
+     */
+    public UUID getTarget(int rawSlot) {
+        return null;
+    }
+
+    protected void setAction(int slot, GuiAction action) {
+        actions[slot] = action;
+    }
+
+    protected void clearActions() {
+        Arrays.fill(actions, null);
+    }
+
+    @Override
+    public Inventory getInventory() {
+        return inventory;
+    }
+}
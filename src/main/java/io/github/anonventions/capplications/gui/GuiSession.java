@@ -0,0 +1,173 @@
+package io.github.anonventions.capplications.gui;
+
+import io.github.anonventions.capplications.CApplications;
+import io.github.anonventions.capplications.scheduler.WorkScheduler;
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.Material;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.inventory.meta.SkullMeta;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Server-side state of a paginated GUI one player is looking at.
+ */
+public class GuiSession extends GuiHolder {
+
+    public static final int PAGE_SIZE = 45;
+
+    private final UUID viewerId;
+    private final GuiDataSource source;
+    private final String title;
+    private int page;
+    private final UUID[] headOwners = new UUID[PAGE_SIZE];
+
+    public GuiSession(UUID viewerId, GuiDataSource source, String title) {
+        super(54);
+        this.viewerId = viewerId;
+        this.source = source;
+        this.title = title;
+    }
+
+    public void open(Player player, int requestedPage) {
+        FileConfiguration config = CApplications.getInstance().getConfig();
+
+        int totalPages = Math.max(1, (int) Math.ceil((double) source.size() / PAGE_SIZE));
+        int newPage = Math.max(0, Math.min(requestedPage, totalPages - 1));
+        int rows = source.select(newPage, PAGE_SIZE);
+
+        String guiTitle = ChatColor.translateAlternateColorCodes('&', title + " - Page " + (newPage + 1));
+        Inventory gui = Bukkit.createInventory(this, 54, guiTitle);
+        clearActions();
+        Arrays.fill(headOwners, null);
+
+        // Navigation buttons
+        if (newPage > 0) {
+            ItemStack prevButton = new ItemStack(Material.ARROW);
+            ItemMeta prevMeta = prevButton.getItemMeta();
+            prevMeta.setDisplayName(ChatColor.GREEN + "Previous Page");
+            prevMeta.setCustomModelData(config.getInt("custom_model_data.previous_page", 0));
+            prevButton.setItemMeta(prevMeta);
+            gui.setItem(45, prevButton);
+            setAction(45, GuiAction.PREVIOUS_PAGE);
+        }
+
+        if (newPage < totalPages - 1) {
+            ItemStack nextButton = new ItemStack(Material.ARROW);
+            ItemMeta nextMeta = nextButton.getItemMeta();
+            nextMeta.setDisplayName(ChatColor.GREEN + "Next Page");
+            nextMeta.setCustomModelData(config.getInt("custom_model_data.next_page", 0));
+            nextButton.setItemMeta(nextMeta);
+            gui.setItem(53, nextButton);
+            setAction(53, GuiAction.NEXT_PAGE);
+        }
+
+        // Set before opening so the close event for the previous page keeps this session
+        this.page = newPage;
+        this.inventory = gui;
+        player.openInventory(gui);
+
+        if (!source.needsLoad()) {
+            fill(player, gui, newPage, rows);
+            return;
+        }
+
+        // Records are read off the main thread; the page is filled once they're in
+        CApplications plugin = CApplications.getInstance();
+        CompletableFuture.runAsync(source::load, plugin.getStorageExecutor()).whenComplete((ignored, error) -> {
+            if (!plugin.isEnabled()) return;
+
+            plugin.getDispatcher().dispatch(() -> {
+                if (inventory != gui) return;
+
+                if (error != null) {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error;
+                    plugin.getLogger().warning("Failed to load page " + (newPage + 1) + " for " + player.getName()
+                            + ": " + cause.getMessage());
+                    if (player.isOnline()) {
+                        plugin.getMessageUtils().sendMessage(player, "error.load_failed");
+                    }
+                    return;
+                }
+                fill(player, gui, newPage, rows);
+            });
+        });
+    }
+
+    private void fill(Player player, Inventory gui, int newPage, int rows) {
+        // Rows are built over as many ticks as the budget needs, and dropped if the page changes first
+        CApplications.getInstance().getWorkScheduler().submit(WorkScheduler.Priority.INTERACTIVE,
+                "page " + (newPage + 1) + " for " + player.getName(), new WorkScheduler.Job() {
+                    private int row;
+                    private int slot;
+
+                    @Override
+                    public boolean step() {
+                        if (inventory != gui || row >= rows) {
+                            return false;
+                        }
+
+                        ItemStack item = source.render(row);
+                        if (item != null) {
+                            gui.setItem(slot, item);
+                            headOwners[slot] = source.getHeadOwner(row);
+                            if (headOwners[slot] != null) {
+                                setAction(slot, GuiAction.REVIEW);
+                            }
+                            slot++;
+                        }
+                        return ++row < rows;
+                    }
+                });
+    }
+
+    public void next(Player player) {
+        open(player, page + 1);
+    }
+
+    public void previous(Player player) {
+        open(player, page - 1);
+    }
+
+    /**
+     * Swaps placeholder heads for the player's resolved head, keeping each row's name and lore.
+     */
+    public void updateHead(UUID playerId, ItemStack template) {
+        if (inventory == null) return;
+
+        for (int slot = 0; slot < PAGE_SIZE; slot++) {
+            ItemStack current = inventory.getItem(slot);
+            if (!playerId.equals(headOwners[slot]) || current == null) continue;
+
+            ItemMeta shown = current.getItemMeta();
+            ItemStack head = template.clone();
+            SkullMeta meta = (SkullMeta) head.getItemMeta();
+            meta.setDisplayName(shown.getDisplayName());
+            meta.setLore(shown.getLore());
+            head.setItemMeta(meta);
+            inventory.setItem(slot, head);
+        }
+    }
+
+    @Override
+    public UUID getTarget(int rawSlot) {
+        return rawSlot >= 0 && rawSlot < PAGE_SIZE ? headOwners[rawSlot] : null;
+    }
+
+    public UUID getViewerId() {
+        return viewerId;
+    }
+
+    public int getPage() {
+        return page;
+    }
+}
@@ -0,0 +1,37 @@
+package io.github.anonventions.capplications.gui;
+
+import org.bukkit.inventory.ItemStack;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Pages over an in-memory list, rendering each row when its page is shown.
+ */
+public class ListDataSource<T> implements GuiDataSource {
+
+    private final List<T> rows;
+    private final Function<T, ItemStack> renderer;
+    private int start;
+
+    public ListDataSource(List<T> rows, Function<T, ItemStack> renderer) {
+        this.rows = rows;
+        this.renderer = renderer;
+    }
+
+    @Override
+    public int size() {
+        return rows.size();
+    }
+
+    @Override
+    public int select(int page, int pageSize) {
+        start = Math.min(page * pageSize, rows.size());
+        return Math.min(start + pageSize, rows.size()) - start;
+    }
+
+    @Override
+    public ItemStack render(int index) {
+        return renderer.apply(rows.get(start + index));
+    }
+}
@@ -0,0 +1,75 @@
+package io.github.anonventions.capplications.gui;
+
+import io.github.anonventions.capplications.CApplications;
+import io.github.anonventions.capplications.storage.ApplicationRecord;
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.Material;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.inventory.meta.SkullMeta;
+
+import java.util.UUID;
+
+/**
+ * Accept/deny screen for a single application.
+ */
+public class ManageGUI extends GuiHolder {
+
+    private static final int ACCEPT_SLOT = 11;
+    private static final int HEAD_SLOT = 13;
+    private static final int DENY_SLOT = 15;
+
+    private final UUID targetId;
+
+    private ManageGUI(UUID targetId) {
+        super(27);
+        this.targetId = targetId;
+    }
+
+    public static void open(Player player, CApplications plugin, ApplicationRecord record, String title) {
+        FileConfiguration config = plugin.getConfig();
+        ManageGUI holder = new ManageGUI(record.getPlayerId());
+        holder.inventory = Bukkit.createInventory(holder, 27, title);
+
+        // Accept button
+        ItemStack acceptButton = new ItemStack(Material.LIME_DYE, 1);
+        ItemMeta acceptMeta = acceptButton.getItemMeta();
+        acceptMeta.setDisplayName(ChatColor.GREEN + "Accept Application");
+        acceptMeta.setCustomModelData(config.getInt("custom_model_data.accept_button", 0));
+        acceptButton.setItemMeta(acceptMeta);
+
+        // Deny button
+        ItemStack denyButton = new ItemStack(Material.RED_DYE, 1);
+        ItemMeta denyMeta = denyButton.getItemMeta();
+        denyMeta.setDisplayName(ChatColor.RED + "Deny Application");
+        denyMeta.setCustomModelData(config.getInt("custom_model_data.deny_button", 0));
+        denyButton.setItemMeta(denyMeta);
+
+        // Player head
+        String playerName = plugin.getProfileCache().getName(record.getPlayerId(), record.getPlayerName());
+        ItemStack playerHead = plugin.getProfileCache().getHead(record.getPlayerId(), record.getPlayerName());
+        SkullMeta headMeta = (SkullMeta) playerHead.getItemMeta();
+        headMeta.setDisplayName(ChatColor.GOLD + (playerName != null ? playerName : record.getPlayerId().toString()));
+        playerHead.setItemMeta(headMeta);
+
+        holder.inventory.setItem(ACCEPT_SLOT, acceptButton);
+        holder.inventory.setItem(DENY_SLOT, denyButton);
+        holder.inventory.setItem(HEAD_SLOT, playerHead);
+        holder.setAction(ACCEPT_SLOT, GuiAction.ACCEPT);
+        holder.setAction(DENY_SLOT, GuiAction.DENY);
+
+        player.openInventory(holder.inventory);
+    }
+
+    @Override
+    public UUID getTarget(int rawSlot) {
+        return targetId;
+    }
+
+    public UUID getTargetId() {
+        return targetId;
+    }
+}
@@ -1,135 +1,119 @@
 package io.github.anonventions.capplications.gui;
 
 import io.github.anonventions.capplications.CApplications;
-import org.bukkit.Bukkit;
+import io.github.anonventions.capplications.index.PendingIndex;
+import io.github.anonventions.capplications.storage.ApplicationRecord;
 import org.bukkit.ChatColor;
-import org.bukkit.Material;
-import org.bukkit.configuration.file.FileConfiguration;
-import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.inventory.meta.SkullMeta;
 
-import java.io.File;
-import java.util.Arrays;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class PaginatedGUI {
 
-    private static final int PAGE_SIZE = 45;
+    private static final Map<UUID, GuiSession> sessions = new ConcurrentHashMap<>();
 
-    public static void showGUI(Player player, List<ItemStack> items, int page, String title) {
-        FileConfiguration config = CApplications.getInstance().getConfig();
-
-        String guiTitle = ChatColor.translateAlternateColorCodes('&', title + " - Page " + (page + 1));
-        int totalPages = (int) Math.ceil((double) items.size() / PAGE_SIZE);
-
-        if (page < 0) page = 0;
-        if (page >= totalPages && totalPages > 0) page = totalPages - 1;
-
-        Inventory gui = Bukkit.createInventory(null, 54, guiTitle);
-
-        int startIndex = page * PAGE_SIZE;
-        int endIndex = Math.min(startIndex + PAGE_SIZE, items.size());
+    /**
+     * Starts a new session for the player and shows the requested page.
+     */
+    public static GuiSession open(Player player, GuiDataSource source, int page, String title) {
+        GuiSession session = new GuiSession(player.getUniqueId(), source, title);
+        sessions.put(player.getUniqueId(), session);
+        session.open(player, page);
+        return session;
+    }
 
-        for (int i = startIndex; i < endIndex; i++) {
-            gui.setItem(i - startIndex, items.get(i));
-        }
+    public static GuiSession getSession(UUID viewerId) {
+        return sessions.get(viewerId);
+    }
 
-        // Navigation buttons
-        if (page > 0) {
-            ItemStack prevButton = new ItemStack(Material.ARROW);
-            ItemMeta prevMeta = prevButton.getItemMeta();
-            prevMeta.setDisplayName(ChatColor.GREEN + "Previous Page");
-            prevMeta.setCustomModelData(config.getInt("custom_model_data.previous_page", 0));
-            prevButton.setItemMeta(prevMeta);
-            gui.setItem(45, prevButton);
+    /**
+     * Drops the viewer's session if the closed inventory is the one it last opened.
+     */
+    public static void endSession(UUID viewerId, Inventory inventory) {
+        GuiSession session = sessions.get(viewerId);
+        if (session != null && session.getInventory() == inventory) {
+            sessions.remove(viewerId, session);
         }
+    }
 
-        if (page < totalPages - 1) {
-            ItemStack nextButton = new ItemStack(Material.ARROW);
-            ItemMeta nextMeta = nextButton.getItemMeta();
-            nextMeta.setDisplayName(ChatColor.GREEN + "Next Page");
-            nextMeta.setCustomModelData(config.getInt("custom_model_data.next_page", 0));
-            nextButton.setItemMeta(nextMeta);
-            gui.setItem(53, nextButton);
+    /**
+     * Updates the player's head in every open GUI once their profile resolves.
+     */
+    public static void updateHeads(UUID playerId, ItemStack head) {
+        for (GuiSession session : sessions.values()) {
+            session.updateHead(playerId, head);
         }
-
-        player.openInventory(gui);
     }
 
     public static void refreshGUI(Player player, CApplications plugin, String title) {
-        File applicationsFolder = new File(plugin.getDataFolder(), "applications");
-        if (!applicationsFolder.exists()) {
-            player.sendMessage(ChatColor.YELLOW + "No applications found.");
-            return;
-        }
+        showPendingApplications(player, plugin, null, title);
+    }
 
-        File[] applicationFiles = applicationsFolder.listFiles((dir, name) -> name.endsWith(".yml"));
-        if (applicationFiles == null || applicationFiles.length == 0) {
-            player.sendMessage(ChatColor.YELLOW + "No applications found.");
+    /**
+     * Shows pending applications from the {@link PendingIndex}, building only
+     * the items of the page on screen.
+     *
+     * @param role the role to list, or {@code null} for every role
+     */
+    public static void showPendingApplications(Player player, CApplications plugin, String role, String title) {
+        if (plugin.getPendingIndex().size(role) == 0) {
+            player.sendMessage(ChatColor.YELLOW + "No pending applications found.");
             return;
         }
 
-        List<ItemStack> items = Arrays.stream(applicationFiles)
-                .map(file -> createApplicationItem(file, plugin))
-                .filter(item -> item != null)
-                .collect(Collectors.toList());
-
-        showGUI(player, items, 0, title);
+        open(player, new PendingDataSource(plugin, role), 0, title);
     }
 
-    private static ItemStack createApplicationItem(File file, CApplications plugin) {
+    static ItemStack createPendingItem(ApplicationRecord record, CApplications plugin) {
         try {
-            FileConfiguration applicationConfig = YamlConfiguration.loadConfiguration(file);
-            String role = applicationConfig.getString("role", "Unknown");
-            String status = applicationConfig.getString("status", "pending");
-            List<String> questions = applicationConfig.getStringList("questions");
-            List<String> answers = applicationConfig.getStringList("answers");
+            String role = record.getRole();
+            String playerName = record.getPlayerName() != null ? record.getPlayerName() : "Unknown";
+            List<String> questions = record.getQuestions();
+            List<String> answers = record.getAnswers();
 
-            UUID playerId = UUID.fromString(file.getName().replace(".yml", ""));
-
-            ItemStack playerHead = new ItemStack(Material.PLAYER_HEAD, 1);
+            ItemStack playerHead = plugin.getProfileCache().getHead(record.getPlayerId(), record.getPlayerName());
             SkullMeta meta = (SkullMeta) playerHead.getItemMeta();
-            meta.setOwningPlayer(Bukkit.getOfflinePlayer(playerId));
+            meta.setDisplayName(ChatColor.GOLD + playerName);
 
-            String playerName = Bukkit.getOfflinePlayer(playerId).getName();
-            if (playerName == null) playerName = "Unknown Player";
+            List<String> lore = new ArrayList<>();
+            lore.add(ChatColor.YELLOW + "Role: " + plugin.getRoleRegistry().getDisplayName(role));
+            lore.add(ChatColor.YELLOW + "Status: " + ChatColor.AQUA + record.getStatus());
 
-            meta.setDisplayName(ChatColor.GOLD + playerName);
+            LocalDateTime submitDate = LocalDateTime.ofInstant(Instant.ofEpochMilli(record.getSubmissionTime()), ZoneId.systemDefault());
+            lore.add(ChatColor.GRAY + "Submitted: " + submitDate.format(DateTimeFormatter.ofPattern("MMM dd, yyyy")));
+            lore.add("");
+
+            // Show first few questions and answers
+            for (int i = 0; i < Math.min(questions.size(), 3); i++) {
+                String question = ChatColor.stripColor(ChatColor.translateAlternateColorCodes('&', questions.get(i)));
+                lore.add(ChatColor.YELLOW + question);
+                lore.add(ChatColor.WHITE + (i < answers.size() ? answers.get(i) : "No answer"));
+                lore.add("");
+            }
 
-            List<String> lore = questions.stream()
-                    .map(question -> {
-                        int index = questions.indexOf(question);
-                        String answer = (answers.size() > index) ? answers.get(index) : "No answer";
-                        return ChatColor.YELLOW + question + "\n" + ChatColor.WHITE + "Answer: " + answer;
-                    })
-                    .collect(Collectors.toList());
-
-            lore.add(0, ChatColor.BLUE + "Role: " + ChatColor.WHITE + role);
-            lore.add(ChatColor.RED + "Status: " + ChatColor.WHITE + status);
-
-            if ("denied".equalsIgnoreCase(status)) {
-                String deniedBy = applicationConfig.getString("deniedBy", "Unknown");
-                String reason = applicationConfig.getString("denialReason", "No reason provided");
-                lore.add(ChatColor.RED + "Denied By: " + ChatColor.WHITE + deniedBy);
-                lore.add(ChatColor.RED + "Reason: " + ChatColor.WHITE + reason);
-            } else if ("accepted".equalsIgnoreCase(status)) {
-                String acceptedBy = applicationConfig.getString("acceptedBy", "Unknown");
-                lore.add(ChatColor.GREEN + "Accepted By: " + ChatColor.WHITE + acceptedBy);
+            if (questions.size() > 3) {
+                lore.add(ChatColor.GRAY + "... and " + (questions.size() - 3) + " more questions");
             }
 
+            lore.add(ChatColor.GREEN + "Click to review application");
+
             meta.setLore(lore);
             playerHead.setItemMeta(meta);
-
             return playerHead;
         } catch (Exception e) {
-            plugin.getLogger().warning("Failed to create item for application file: " + file.getName());
+            plugin.getLogger().warning("Failed to create item for application: " + record.getPlayerId());
             return null;
         }
     }
-}
\ No newline at end of file
+}
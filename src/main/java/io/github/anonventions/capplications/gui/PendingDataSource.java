@@ -0,0 +1,109 @@
+package io.github.anonventions.capplications.gui;
+
+import io.github.anonventions.capplications.CApplications;
+import io.github.anonventions.capplications.index.PendingIndex;
+import io.github.anonventions.capplications.storage.ApplicationRecord;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Pages over the {@link PendingIndex}. Moving to the next or previous page
+ * continues from the entries at the edge of the current page, so paging
+ * costs the same however deep the review queue is.
+ */
+public class PendingDataSource implements GuiDataSource {
+
+    private final CApplications plugin;
+    private final String role;
+
+    // Cursor: the page last loaded and its first and last entries
+    private int currentPage = -1;
+    private PendingIndex.Entry first;
+    private PendingIndex.Entry last;
+    private volatile Page selected = new Page(new ArrayList<>());
+
+    /**
+     * @param role the role to list, or {@code null} for every role
+     */
+    public PendingDataSource(CApplications plugin, String role) {
+        this.plugin = plugin;
+        this.role = role;
+    }
+
+    @Override
+    public int size() {
+        return plugin.getPendingIndex().size(role);
+    }
+
+    @Override
+    public int select(int page, int pageSize) {
+        PendingIndex index = plugin.getPendingIndex();
+        List<PendingIndex.Entry> entries;
+        if (page == currentPage + 1 && last != null) {
+            entries = index.pageAfter(role, last, pageSize);
+        } else if (page == currentPage - 1 && first != null) {
+            entries = index.pageBefore(role, first, pageSize);
+        } else {
+            entries = index.page(role, page * pageSize, pageSize);
+        }
+
+        if (entries.isEmpty() && page > 0) {
+            // The queue shrank under the cursor
+            entries = index.page(role, page * pageSize, pageSize);
+        }
+
+        currentPage = page;
+        first = entries.isEmpty() ? null : entries.get(0);
+        last = entries.isEmpty() ? null : entries.get(entries.size() - 1);
+        selected = new Page(entries);
+        return entries.size();
+    }
+
+    @Override
+    public boolean needsLoad() {
+        return true;
+    }
+
+    @Override
+    public void load() {
+        Page page = selected;
+        for (int i = 0; i < page.entries.size(); i++) {
+            UUID playerId = page.entries.get(i).getPlayerId();
+            ApplicationRecord record = plugin.getApplicationStore().load(playerId);
+            if (record == null || !record.hasStatus(ApplicationRecord.STATUS_PENDING)) {
+                // Storage no longer agrees with the index
+                plugin.getPendingIndex().remove(playerId);
+                record = null;
+            }
+            page.records[i] = record;
+        }
+    }
+
+    @Override
+    public ItemStack render(int index) {
+        ApplicationRecord record = selected.records[index];
+        return record != null ? PaginatedGUI.createPendingItem(record, plugin) : null;
+    }
+
+    @Override
+    public UUID getHeadOwner(int index) {
+        List<PendingIndex.Entry> entries = selected.entries;
+        return index < entries.size() ? entries.get(index).getPlayerId() : null;
+    }
+
+    /**
+     * The selected entries and, once loaded, their records.
+     */
+    private static final class Page {
+        private final List<PendingIndex.Entry> entries;
+        private final ApplicationRecord[] records;
+
+        private Page(List<PendingIndex.Entry> entries) {
+            this.entries = entries;
+            this.records = new ApplicationRecord[entries.size()];
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package io.github.anonventions.capplications.gui;
+
+import io.github.anonventions.capplications.CApplications;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.SkullMeta;
+import org.bukkit.profile.PlayerProfile;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache of resolved player profiles and ready-made head items, so
+ * review GUIs never wait on profile or texture lookups. Heads not resolved
+ * yet are shown as placeholders and swapped in place once the lookup finishes.
+ */
+public class ProfileCache {
+
+    private final CApplications plugin;
+    private final Map<UUID, Profile> profiles;
+    private final Set<UUID> resolving = ConcurrentHashMap.newKeySet();
+
+    public ProfileCache(CApplications plugin) {
+        this.plugin = plugin;
+        int capacity = Math.max(16, plugin.getConfig().getInt("advanced.profile_cache_size", 512));
+        this.profiles = new LinkedHashMap<UUID, Profile>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Profile> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * @return a copy of the player's head, or a placeholder while the profile resolves
+     */
+    public ItemStack getHead(UUID playerId, String name) {
+        Profile profile = get(playerId);
+        if (profile != null) {
+            return profile.head.clone();
+        }
+
+        resolve(playerId, name);
+        return createHead(Bukkit.createPlayerProfile(playerId, name));
+    }
+
+    /**
+     * @return the resolved name, or {@code fallback} if the profile isn't cached
+     */
+    public String getName(UUID playerId, String fallback) {
+        Profile profile = get(playerId);
+        return profile != null && profile.name != null ? profile.name : fallback;
+    }
+
+    /**
+     * Looks the profile up in the background unless it is cached or already being resolved.
+     */
+    public void resolve(UUID playerId, String name) {
+        if (get(playerId) != null || !resolving.add(playerId)) {
+            return;
+        }
+
+        PlayerProfile unresolved = Bukkit.createPlayerProfile(playerId, name);
+        unresolved.update().whenComplete((resolved, error) -> {
+            if (!plugin.isEnabled()) return;
+            plugin.getDispatcher().dispatch(() -> {
+                resolving.remove(playerId);
+                if (error != null && plugin.getConfig().getBoolean("settings.debug", false)) {
+                    plugin.getLogger().info("Failed to resolve profile for " + playerId + ": " + error.getMessage());
+                }
+
+                // Cache failures too, with the plain head, so they aren't retried on every page
+                PlayerProfile profile = resolved != null ? resolved : unresolved;
+                ItemStack head = createHead(profile);
+                synchronized (profiles) {
+                    profiles.put(playerId, new Profile(profile.getName() != null ? profile.getName() : name, head));
+                }
+                PaginatedGUI.updateHeads(playerId, head);
+            });
+        });
+    }
+
+    public int size() {
+        synchronized (profiles) {
+            return profiles.size();
+        }
+    }
+
+    private Profile get(UUID playerId) {
+        synchronized (profiles) {
+            return profiles.get(playerId);
+        }
+    }
+
+    private static ItemStack createHead(PlayerProfile profile) {
+        ItemStack head = new ItemStack(Material.PLAYER_HEAD, 1);
+        SkullMeta meta = (SkullMeta) head.getItemMeta();
+        meta.setOwnerProfile(profile);
+        head.setItemMeta(meta);
+        return head;
+    }
+
+    private static final class Profile {
+        private final String name;
+        private final ItemStack head;
+
+        private Profile(String name, ItemStack head) {
+            this.name = name;
+            this.head = head;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package io.github.anonventions.capplications.index;
+
+import io.github.anonventions.capplications.CApplications;
+import io.github.anonventions.capplications.storage.StatusEntry;
+import io.github.anonventions.capplications.storage.StorageException;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-player summary of the status history used for cooldown and
+ * recent-application checks. Loaded in the background when a player joins,
+ * dropped when they quit and kept current by every status write, so
+ * validating an application needs no disk access.
+ */
+public class CooldownIndex {
+
+    private final CApplications plugin;
+    private final Map<UUID, PlayerCooldowns> players = new ConcurrentHashMap<>();
+
+    public CooldownIndex(CApplications plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Starts loading the player's history in the background. Status writes made
+     * while it loads are kept and merged with the loaded history.
+     */
+    public void load(UUID playerId) {
+        players.putIfAbsent(playerId, new PlayerCooldowns());
+        plugin.getStorageExecutor().execute(() -> {
+            try {
+                PlayerCooldowns loaded = read(playerId);
+                // Skip players who quit before their history was read
+                PlayerCooldowns current = players.computeIfPresent(playerId, (id, cooldowns) -> {
+                    cooldowns.merge(loaded);
+                    return cooldowns;
+                });
+
+                if (current != null) {
+                    plugin.getDeadlineScheduler().scheduleCooldowns(playerId, current.getLastDeclined());
+                }
+            } catch (StorageException e) {
+                plugin.getLogger().warning("Failed to load cooldowns for " + playerId + ": " + e.getMessage());
+                // Let the next lookup try again
+                players.computeIfPresent(playerId, (id, cooldowns) -> cooldowns.loaded ? cooldowns : null);
+            }
+        });
+    }
+
+    public void evict(UUID playerId) {
+        players.remove(playerId);
+    }
+
+    public void record(UUID playerId, StatusEntry entry) {
+        PlayerCooldowns cooldowns = players.get(playerId);
+        if (cooldowns != null) {
+            cooldowns.record(entry);
+        }
+    }
+
+    /**
+     * Returns an online player's cooldowns without touching the disk, starting
+     * the background load if it isn't running.
+     *
+     * @return {@code null} while the player's history is still loading
+     */
+    public PlayerCooldowns get(UUID playerId) {
+        PlayerCooldowns cooldowns = players.get(playerId);
+        if (cooldowns == null) {
+            load(playerId);
+            return null;
+        }
+        return cooldowns.loaded ? cooldowns : null;
+    }
+
+    public Map<UUID, PlayerCooldowns> getLoaded() {
+        Map<UUID, PlayerCooldowns> loaded = new HashMap<>();
+        players.forEach((playerId, cooldowns) -> {
+            if (cooldowns.loaded) {
+                loaded.put(playerId, cooldowns);
+            }
+        });
+        return loaded;
+    }
+
+    public int size() {
+        return players.size();
+    }
+
+    private PlayerCooldowns read(UUID playerId) {
+        List<StatusEntry> history = plugin.loadPlayerStatus(playerId);
+        PlayerCooldowns cooldowns = new PlayerCooldowns();
+        for (StatusEntry entry : history) {
+            cooldowns.record(entry);
+        }
+        cooldowns.loaded = true;
+        return cooldowns;
+    }
+
+    /**
+     * Latest timestamps per role for one player.
+     */
+    public static final class PlayerCooldowns {
+        private final Map<String, Long> lastDeclined = new HashMap<>();
+        private final Map<String, Long> lastAttempt = new HashMap<>();
+        private volatile boolean loaded;
+
+        /**
+         * @return when the role was last denied or expired, or 0 if never
+         */
+        public synchronized long getLastDeclined(String role) {
+            return lastDeclined.getOrDefault(role, 0L);
+        }
+
+        /**
+         * @return when the player last had any status change for the role, or 0 if never
+         */
+        public synchronized long getLastAttempt(String role) {
+            return lastAttempt.getOrDefault(role, 0L);
+        }
+
+        public synchronized Map<String, Long> getLastDeclined() {
+            return new HashMap<>(lastDeclined);
+        }
+
+        private synchronized void record(StatusEntry entry) {
+            if (entry.getRole() == null) {
+                return;
+            }
+
+            lastAttempt.merge(entry.getRole(), entry.getTimestamp(), Math::max);
+            if ("denied".equals(entry.getStatus()) || "expired".equals(entry.getStatus())) {
+                lastDeclined.merge(entry.getRole(), entry.getTimestamp(), Math::max);
+            }
+        }
+
+        private void merge(PlayerCooldowns other) {
+            Map<String, Long> otherDeclined;
+            Map<String, Long> otherAttempt;
+            synchronized (other) {
+                otherDeclined = new HashMap<>(other.lastDeclined);
+                otherAttempt = new HashMap<>(other.lastAttempt);
+            }
+
+            synchronized (this) {
+                otherDeclined.forEach((role, time) -> lastDeclined.merge(role, time, Math::max));
+                otherAttempt.forEach((role, time) -> lastAttempt.merge(role, time, Math::max));
+            }
+            loaded = true;
+        }
+    }
+}
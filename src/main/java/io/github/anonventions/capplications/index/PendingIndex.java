@@ -0,0 +1,211 @@
+package io.github.anonventions.capplications.index;
+
+import io.github.anonventions.capplications.storage.ApplicationRecord;
+import io.github.anonventions.capplications.utils.CompletionTrie;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-memory index of applications awaiting review, ordered by submission time
+ * and bucketed by role. Built once at startup and kept current on submit,
+ * accept, deny, expire and cancel, so the review GUI never scans storage.
+ */
+public class PendingIndex {
+
+    private static final Comparator<Entry> ORDER = Comparator
+            .comparingLong(Entry::getSubmissionTime)
+            .thenComparing(Entry::getPlayerId);
+
+    private static final int NAME_COMPLETIONS = 100;
+
+    private final NavigableSet<Entry> ordered = new ConcurrentSkipListSet<>(ORDER);
+    private final Map<String, NavigableSet<Entry>> byRole = new ConcurrentHashMap<>();
+    private final Map<UUID, Entry> byPlayer = new ConcurrentHashMap<>();
+    private final Map<String, Entry> byName = new ConcurrentHashMap<>();
+
+    // Applicant names for tab completion, rebuilt on first use after a change
+    private volatile long version;
+    private volatile CompletionTrie names = CompletionTrie.EMPTY;
+    private volatile long namesVersion = -1;
+
+    public synchronized void rebuild(Collection<ApplicationRecord> pending) {
+        ordered.clear();
+        byRole.clear();
+        byPlayer.clear();
+        byName.clear();
+        for (ApplicationRecord record : pending) {
+            update(record);
+        }
+    }
+
+    /**
+     * Adds the record if it is pending, otherwise removes any entry for the player.
+     */
+    public synchronized void update(ApplicationRecord record) {
+        remove(record.getPlayerId());
+        if (!record.hasStatus(ApplicationRecord.STATUS_PENDING)) {
+            return;
+        }
+
+        Entry entry = new Entry(record.getPlayerId(), record.getPlayerName(), record.getRole(), record.getSubmissionTime());
+        byPlayer.put(entry.playerId, entry);
+        if (entry.playerName != null) {
+            byName.put(entry.playerName.toLowerCase(Locale.ROOT), entry);
+        }
+        ordered.add(entry);
+        byRole.computeIfAbsent(entry.role, role -> new ConcurrentSkipListSet<>(ORDER)).add(entry);
+        version++;
+    }
+
+    public synchronized void remove(UUID playerId) {
+        Entry entry = byPlayer.remove(playerId);
+        if (entry == null) {
+            return;
+        }
+
+        ordered.remove(entry);
+        NavigableSet<Entry> bucket = byRole.get(entry.role);
+        if (bucket != null) {
+            bucket.remove(entry);
+        }
+        if (entry.playerName != null) {
+            byName.remove(entry.playerName.toLowerCase(Locale.ROOT), entry);
+        }
+        version++;
+    }
+
+    public Entry get(UUID playerId) {
+        return byPlayer.get(playerId);
+    }
+
+    /**
+     * @return the pending application of the player with this name, ignoring case
+     */
+    public Entry getByName(String playerName) {
+        return byName.get(playerName.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * @return a trie of applicant names, rebuilt only if the index changed since the last call
+     */
+    public CompletionTrie getNames() {
+        if (namesVersion != version) {
+            synchronized (this) {
+                if (namesVersion != version) {
+                    names = CompletionTrie.of(applicantNames(), NAME_COMPLETIONS);
+                    namesVersion = version;
+                }
+            }
+        }
+        return names;
+    }
+
+    private List<String> applicantNames() {
+        List<String> result = new ArrayList<>(byName.size());
+        for (Entry entry : byName.values()) {
+            result.add(entry.playerName);
+        }
+        return result;
+    }
+
+    public int size() {
+        return byPlayer.size();
+    }
+
+    public int size(String role) {
+        NavigableSet<Entry> bucket = role == null ? ordered : byRole.get(role);
+        return bucket == null ? 0 : bucket.size();
+    }
+
+    /**
+     * @param role the role to list, or {@code null} for every role
+     * @return up to {@code limit} entries starting at {@code offset}, oldest first
+     */
+    public List<Entry> page(String role, int offset, int limit) {
+        NavigableSet<Entry> bucket = role == null ? ordered : byRole.get(role);
+        if (bucket == null) {
+            return Collections.emptyList();
+        }
+        return collect(bucket.iterator(), offset, limit);
+    }
+
+    /**
+     * Cursor variant of {@link #page}: returns the entries following {@code after}.
+     */
+    public List<Entry> pageAfter(String role, Entry after, int limit) {
+        NavigableSet<Entry> bucket = role == null ? ordered : byRole.get(role);
+        if (bucket == null) {
+            return Collections.emptyList();
+        }
+        NavigableSet<Entry> tail = after == null ? bucket : bucket.tailSet(after, false);
+        return collect(tail.iterator(), 0, limit);
+    }
+
+    /**
+     * Cursor variant of {@link #page}: returns the entries preceding {@code before}, oldest first.
+     */
+    public List<Entry> pageBefore(String role, Entry before, int limit) {
+        NavigableSet<Entry> bucket = role == null ? ordered : byRole.get(role);
+        if (bucket == null || before == null) {
+            return Collections.emptyList();
+        }
+        List<Entry> page = collect(bucket.headSet(before, false).descendingIterator(), 0, limit);
+        Collections.reverse(page);
+        return page;
+    }
+
+    private static List<Entry> collect(Iterator<Entry> iterator, int offset, int limit) {
+        List<Entry> page = new ArrayList<>(Math.min(limit, 64));
+        for (int skipped = 0; skipped < offset && iterator.hasNext(); skipped++) {
+            iterator.next();
+        }
+        while (page.size() < limit && iterator.hasNext()) {
+            page.add(iterator.next());
+        }
+        return page;
+    }
+
+    /**
+     * Lightweight summary of a pending application.
+     */
+    public static final class Entry {
+        private final UUID playerId;
+        private final String playerName;
+        private final String role;
+        private final long submissionTime;
+
+        private Entry(UUID playerId, String playerName, String role, long submissionTime) {
+            this.playerId = playerId;
+            this.playerName = playerName;
+            this.role = role;
+            this.submissionTime = submissionTime;
+        }
+
+        public UUID getPlayerId() {
+            return playerId;
+        }
+
+        public String getPlayerName() {
+            return playerName;
+        }
+
+        public String getRole() {
+            return role;
+        }
+
+        public long getSubmissionTime() {
+            return submissionTime;
+        }
+    }
+}
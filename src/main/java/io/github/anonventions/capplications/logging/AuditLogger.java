@@ -0,0 +1,284 @@
+package io.github.anonventions.capplications.logging;
+
+import io.github.anonventions.capplications.CApplications;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes {@code logs/actions.log} from a dedicated thread. Callers only
+ * enqueue; the writer drains entries in batches, syncs once per interval and
+ * rotates the file by size or date, gzipping rotated files.
+ *
+ * <p>When the queue is full new entries are dropped and counted rather than
+ * blocking the calling (often main) thread.</p>
+ */
+public class AuditLogger {
+
+    private static final int MAX_BATCH = 512;
+
+    private final CApplications plugin;
+    private final File folder;
+    private final File logFile;
+    private final BlockingQueue<String> queue;
+    private final long flushIntervalMillis;
+    private final long maxFileBytes;
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong syncs = new AtomicLong();
+    private final AtomicLong rotations = new AtomicLong();
+    private final AtomicLong peakDepth = new AtomicLong();
+
+    private volatile boolean enabled;
+    private volatile Set<String> loggedActions;
+    private volatile boolean running;
+    private Thread writerThread;
+
+    // Writer thread state
+    private FileOutputStream output;
+    private Writer writer;
+    private LocalDate currentDate;
+    private long lastSync;
+
+    public AuditLogger(CApplications plugin) {
+        FileConfiguration config = plugin.getConfig();
+        this.plugin = plugin;
+        this.folder = new File(plugin.getDataFolder(), "logs");
+        this.logFile = new File(folder, "actions.log");
+        this.queue = new ArrayBlockingQueue<>(Math.max(16, config.getInt("logging.queue_capacity", 4096)));
+        this.flushIntervalMillis = Math.max(50, config.getLong("logging.flush_interval_ms", 1000));
+        this.maxFileBytes = Math.max(1, config.getLong("logging.max_file_size_mb", 10)) * 1024L * 1024L;
+        reloadSettings();
+    }
+
+    public void reloadSettings() {
+        FileConfiguration config = plugin.getConfig();
+        this.enabled = config.getBoolean("logging.log_to_file", true);
+
+        Set<String> actions = new HashSet<>();
+        for (String action : config.getStringList("logging.log_actions")) {
+            actions.add(action.toUpperCase());
+        }
+        this.loggedActions = actions;
+    }
+
+    public void start() {
+        running = true;
+        writerThread = new Thread(this::run, "cApplications-audit");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    public void log(String performer, String action, UUID targetId, String role) {
+        if (!enabled || !running) {
+            return;
+        }
+
+        Set<String> actions = loggedActions;
+        if (!actions.isEmpty() && !actions.contains(action)) {
+            return;
+        }
+
+        String entry = String.format("[%d] %s performed %s on %s for role %s%n",
+                System.currentTimeMillis(), performer, action, targetId, role);
+
+        if (!queue.offer(entry)) {
+            dropped.incrementAndGet();
+            return;
+        }
+
+        enqueued.incrementAndGet();
+        long depth = queue.size();
+        peakDepth.accumulateAndGet(depth, Math::max);
+    }
+
+    /**
+     * Stops accepting entries and waits for the writer to drain the queue.
+     */
+    public void close() {
+        if (!running) {
+            return;
+        }
+
+        // The writer notices within one poll interval; interrupting it could close the channel mid-write
+        running = false;
+        if (writerThread != null) {
+            try {
+                writerThread.join(flushIntervalMillis + TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void run() {
+        List<String> batch = new ArrayList<>(MAX_BATCH);
+        while (running || !queue.isEmpty()) {
+            try {
+                String first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, MAX_BATCH - 1);
+                }
+            } catch (InterruptedException e) {
+                running = false;
+                queue.drainTo(batch);
+            }
+
+            try {
+                if (!batch.isEmpty()) {
+                    write(batch);
+                    written.addAndGet(batch.size());
+                    batch.clear();
+                }
+
+                if (System.currentTimeMillis() - lastSync >= flushIntervalMillis) {
+                    sync();
+                }
+            } catch (IOException e) {
+                plugin.getLogger().warning("Failed to write action log: " + e.getMessage());
+                dropped.addAndGet(batch.size());
+                batch.clear();
+                closeWriter();
+            }
+        }
+
+        try {
+            sync();
+        } catch (IOException e) {
+            plugin.getLogger().warning("Failed to flush action log: " + e.getMessage());
+        }
+        closeWriter();
+    }
+
+    private void write(List<String> batch) throws IOException {
+        rotateIfNeeded();
+        if (writer == null) {
+            openWriter();
+        }
+
+        for (String entry : batch) {
+            writer.write(entry);
+        }
+    }
+
+    private void sync() throws IOException {
+        if (writer != null) {
+            writer.flush();
+            output.getChannel().force(false);
+            syncs.incrementAndGet();
+        }
+        lastSync = System.currentTimeMillis();
+    }
+
+    private void openWriter() throws IOException {
+        if (!folder.exists()) {
+            folder.mkdirs();
+        }
+
+        output = new FileOutputStream(logFile, true);
+        writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), 64 * 1024);
+        if (currentDate == null) {
+            currentDate = logFile.length() > 0
+                    ? Instant.ofEpochMilli(logFile.lastModified()).atZone(ZoneId.systemDefault()).toLocalDate()
+                    : LocalDate.now();
+        }
+    }
+
+    private void closeWriter() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException ignored) {
+            }
+        }
+        writer = null;
+        output = null;
+    }
+
+    private void rotateIfNeeded() throws IOException {
+        LocalDate today = LocalDate.now();
+        boolean dateChanged = currentDate != null && !today.equals(currentDate);
+        if (!dateChanged && logFile.length() < maxFileBytes) {
+            return;
+        }
+        if (!logFile.exists() || logFile.length() == 0) {
+            currentDate = today;
+            return;
+        }
+
+        sync();
+        closeWriter();
+
+        LocalDate stamp = currentDate != null ? currentDate : today;
+        File rotated = nextRotatedFile(stamp);
+        if (!logFile.renameTo(rotated)) {
+            throw new IOException("Could not rotate " + logFile.getName());
+        }
+        currentDate = today;
+        rotations.incrementAndGet();
+
+        compress(rotated);
+    }
+
+    private File nextRotatedFile(LocalDate date) {
+        int index = 1;
+        File candidate;
+        do {
+            candidate = new File(folder, "actions-" + date + "-" + index + ".log");
+            index++;
+        } while (candidate.exists() || new File(candidate.getPath() + ".gz").exists());
+        return candidate;
+    }
+
+    private void compress(File file) {
+        File compressed = new File(file.getPath() + ".gz");
+        byte[] buffer = new byte[8192];
+        try (InputStream in = new FileInputStream(file);
+             OutputStream out = new GZIPOutputStream(new FileOutputStream(compressed))) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            plugin.getLogger().warning("Failed to compress rotated log " + file.getName() + ": " + e.getMessage());
+            compressed.delete();
+            return;
+        }
+        file.delete();
+    }
+
+    public List<String> describeMetrics() {
+        List<String> lines = new ArrayList<>();
+        lines.add("Audit log: " + (enabled ? "enabled" : "disabled"));
+        lines.add("  queued " + enqueued.get() + ", written " + written.get() + ", dropped " + dropped.get());
+        lines.add("  queue depth " + queue.size() + "/" + (queue.size() + queue.remainingCapacity())
+                + " (peak " + peakDepth.get() + ")");
+        lines.add("  syncs " + syncs.get() + ", rotations " + rotations.get());
+        return lines;
+    }
+}
@@ -0,0 +1,132 @@
+package io.github.anonventions.capplications.notifications;
+
+import io.github.anonventions.capplications.CApplications;
+import net.luckperms.api.LuckPerms;
+import net.luckperms.api.event.user.UserDataRecalculateEvent;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tells online reviewers about new submissions. The reviewer set is kept up to
+ * date on join, quit and LuckPerms permission changes, and submissions made
+ * within one tick are coalesced into a single message on the main thread.
+ */
+public class ReviewerNotifier implements Listener {
+
+    private final CApplications plugin;
+    private final Set<UUID> reviewers = ConcurrentHashMap.newKeySet();
+
+    // Submissions waiting for the next flush, as player name -> role
+    private final List<String[]> queued = new ArrayList<>();
+
+    public ReviewerNotifier(CApplications plugin) {
+        this.plugin = plugin;
+    }
+
+    public void start() {
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            refresh(player);
+        }
+
+        LuckPerms luckPerms = plugin.getPermissionUtils().getLuckPerms();
+        if (luckPerms != null) {
+            luckPerms.getEventBus().subscribe(plugin, UserDataRecalculateEvent.class, event -> {
+                UUID playerId = event.getUser().getUniqueId();
+                if (!plugin.isEnabled()) return;
+                plugin.getDispatcher().dispatch(() -> {
+                    Player player = Bukkit.getPlayer(playerId);
+                    if (player != null) {
+                        refresh(player);
+                    }
+                });
+            });
+        }
+    }
+
+    /**
+     * Queues a notification; safe to call from any thread.
+     */
+    public void notifySubmission(String playerName, String role) {
+        boolean first;
+        synchronized (queued) {
+            first = queued.isEmpty();
+            queued.add(new String[]{playerName, role});
+        }
+
+        if (first && plugin.isEnabled()) {
+            plugin.getDispatcher().dispatch(this::flush);
+        }
+    }
+
+    public int size() {
+        return reviewers.size();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        refresh(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        reviewers.remove(event.getPlayer().getUniqueId());
+    }
+
+    private void refresh(Player player) {
+        if (player.hasPermission("capplications.manage") || player.hasPermission("capplications.notify")) {
+            reviewers.add(player.getUniqueId());
+        } else {
+            reviewers.remove(player.getUniqueId());
+        }
+    }
+
+    private void flush() {
+        List<String[]> submissions;
+        synchronized (queued) {
+            submissions = new ArrayList<>(queued);
+            queued.clear();
+        }
+        if (submissions.isEmpty() || reviewers.isEmpty()) {
+            return;
+        }
+
+        String message;
+        if (submissions.size() == 1) {
+            message = plugin.getMessageUtils().formatMessage("admin.notification", submissions.get(0)[0], submissions.get(0)[1]);
+        } else {
+            Map<String, Integer> perRole = new LinkedHashMap<>();
+            for (String[] submission : submissions) {
+                perRole.merge(submission[1], 1, Integer::sum);
+            }
+
+            StringBuilder summary = new StringBuilder();
+            for (Map.Entry<String, Integer> entry : perRole.entrySet()) {
+                if (summary.length() > 0) {
+                    summary.append(", ");
+                }
+                summary.append(entry.getKey()).append(" x").append(entry.getValue());
+            }
+            message = plugin.getMessageUtils().formatMessage("admin.notification_batch", submissions.size(), summary);
+        }
+
+        for (UUID reviewerId : reviewers) {
+            Player reviewer = Bukkit.getPlayer(reviewerId);
+            if (reviewer != null) {
+                reviewer.sendMessage(message);
+            }
+        }
+    }
+}
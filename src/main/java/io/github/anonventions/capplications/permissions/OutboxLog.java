@@ -0,0 +1,155 @@
+package io.github.anonventions.capplications.permissions;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log behind {@link PermissionOutbox}.
+ *
+ * <p>Records are {@code [int length][int crc32][payload]} where the payload is
+ * either an enqueued operation or the id of one that finished. Replaying the
+ * log therefore yields exactly the operations still outstanding.</p>
+ */
+class OutboxLog {
+
+    private static final int MAX_RECORD_SIZE = 1 << 16;
+    private static final byte ENQUEUE = 1;
+    private static final byte DONE = 2;
+
+    private final File file;
+    private final Logger logger;
+    private FileChannel channel;
+
+    OutboxLog(File file, Logger logger) {
+        this.file = file;
+        this.logger = logger;
+    }
+
+    synchronized void replay(Consumer consumer) throws IOException {
+        if (!file.exists()) {
+            return;
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+        while (buffer.remaining() >= 8) {
+            int length = buffer.getInt();
+            int checksum = buffer.getInt();
+            if (length <= 0 || length > MAX_RECORD_SIZE || length > buffer.remaining()) {
+                logger.warning("Truncated record in " + file.getName() + ", ignoring the rest");
+                return;
+            }
+
+            byte[] payload = new byte[length];
+            buffer.get(payload);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            if ((int) crc.getValue() != checksum) {
+                logger.warning("Corrupt record in " + file.getName() + ", ignoring the rest");
+                return;
+            }
+
+            try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+                byte type = in.readByte();
+                long id = in.readLong();
+                if (type == ENQUEUE) {
+                    UUID playerId = new UUID(in.readLong(), in.readLong());
+                    consumer.enqueued(new PermissionOutbox.Operation(id, playerId, in.readUTF(), in.readBoolean()));
+                } else if (type == DONE) {
+                    consumer.done(id);
+                }
+            }
+        }
+    }
+
+    /**
+     * Rewrites the log so it holds only {@code outstanding}, then opens it for appending.
+     */
+    synchronized void open(Collection<PermissionOutbox.Operation> outstanding) throws IOException {
+        close();
+        File temp = new File(file.getPath() + ".tmp");
+        try (FileChannel out = FileChannel.open(temp.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (PermissionOutbox.Operation operation : outstanding) {
+                write(out, encodeEnqueue(operation));
+            }
+            out.force(true);
+        }
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    synchronized void appendEnqueue(PermissionOutbox.Operation operation) throws IOException {
+        append(encodeEnqueue(operation));
+    }
+
+    synchronized void appendDone(long id) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(9);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(DONE);
+            out.writeLong(id);
+        }
+        append(bytes.toByteArray());
+    }
+
+    synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private void append(byte[] payload) throws IOException {
+        if (channel == null) {
+            throw new IOException("Permission outbox is closed");
+        }
+        write(channel, payload);
+        channel.force(false);
+    }
+
+    private static void write(FileChannel channel, byte[] payload) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+
+        ByteBuffer buffer = ByteBuffer.allocate(8 + payload.length);
+        buffer.putInt(payload.length);
+        buffer.putInt((int) crc.getValue());
+        buffer.put(payload);
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static byte[] encodeEnqueue(PermissionOutbox.Operation operation) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(48);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(ENQUEUE);
+            out.writeLong(operation.getId());
+            out.writeLong(operation.getPlayerId().getMostSignificantBits());
+            out.writeLong(operation.getPlayerId().getLeastSignificantBits());
+            out.writeUTF(operation.getRole());
+            out.writeBoolean(operation.isGrant());
+        }
+        return bytes.toByteArray();
+    }
+
+    interface Consumer {
+        void enqueued(PermissionOutbox.Operation operation);
+
+        void done(long id);
+    }
+}
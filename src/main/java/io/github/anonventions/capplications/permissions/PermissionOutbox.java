@@ -0,0 +1,254 @@
+package io.github.anonventions.capplications.permissions;
+
+import io.github.anonventions.capplications.CApplications;
+import io.github.anonventions.capplications.storage.StorageException;
+import io.github.anonventions.capplications.utils.PermissionUnavailableException;
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Durable queue of LuckPerms grants and revokes. Operations are logged to
+ * {@code permission-outbox.log} in the same step as the accept that causes
+ * them, then applied by a worker with bounded concurrency and exponential
+ * backoff until LuckPerms confirms them, surviving restarts in between.
+ * Changes that can never succeed, such as for a role without a configured
+ * permission, are dropped after one attempt.
+ */
+public class PermissionOutbox {
+
+    private static final long BASE_BACKOFF = TimeUnit.SECONDS.toMillis(5);
+    private static final long MAX_BACKOFF = TimeUnit.HOURS.toMillis(1);
+
+    private final CApplications plugin;
+    private final OutboxLog log;
+    private final Map<Long, Operation> outstanding = new ConcurrentSkipListMap<>();
+    private final Set<String> queuedKeys = ConcurrentHashMap.newKeySet();
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Object logLock = new Object();
+    private BukkitTask worker;
+
+    public PermissionOutbox(CApplications plugin) {
+        this.plugin = plugin;
+        this.log = new OutboxLog(new File(plugin.getDataFolder(), "permission-outbox.log"), plugin.getLogger());
+    }
+
+    /**
+     * Loads operations left over from the last run and starts the worker.
+     */
+    public void start() {
+        Map<Long, Operation> replayed = new LinkedHashMap<>();
+        try {
+            log.replay(new OutboxLog.Consumer() {
+                @Override
+                public void enqueued(Operation operation) {
+                    replayed.put(operation.id, operation);
+                }
+
+                @Override
+                public void done(long id) {
+                    replayed.remove(id);
+                }
+            });
+            log.open(replayed.values());
+        } catch (IOException e) {
+            throw new StorageException("Failed to open permission outbox", e);
+        }
+
+        for (Operation operation : replayed.values()) {
+            outstanding.put(operation.id, operation);
+            queuedKeys.add(operation.key());
+            nextId.set(Math.max(nextId.get(), operation.id + 1));
+        }
+        if (!replayed.isEmpty()) {
+            plugin.getLogger().info("Resuming " + replayed.size() + " pending permission change(s).");
+        }
+
+        worker = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, this::drain, 20L, 20L);
+    }
+
+    /**
+     * Durably queues granting the role's permission and reports the first attempt to {@code staff}.
+     */
+    public void grant(CommandSender staff, UUID playerId, String playerName, String role) {
+        Operation operation = add(playerId, role, true);
+        if (operation == null) return;
+
+        operation.firstAttempt.thenAccept(granted -> {
+            if (!plugin.isEnabled()) return;
+            plugin.getDispatcher().dispatch(() -> {
+                if (staff instanceof Player && !((Player) staff).isOnline()) return;
+                plugin.getMessageUtils().sendMessage(staff,
+                        granted ? "admin.permissions_granted" : "admin.permissions_failed", playerName, role);
+            });
+        });
+    }
+
+    /**
+     * @return {@code false} if an identical operation is already pending
+     */
+    public boolean enqueue(UUID playerId, String role, boolean grant) {
+        return add(playerId, role, grant) != null;
+    }
+
+    public boolean isQueued(UUID playerId, String role, boolean grant) {
+        return queuedKeys.contains(Operation.key(playerId, role, grant));
+    }
+
+    public int size() {
+        return outstanding.size();
+    }
+
+    private Operation add(UUID playerId, String role, boolean grant) {
+        Operation operation = new Operation(nextId.getAndIncrement(), playerId, role, grant);
+        if (!queuedKeys.add(operation.key())) {
+            return null;
+        }
+
+        synchronized (logLock) {
+            try {
+                log.appendEnqueue(operation);
+            } catch (IOException e) {
+                // Still attempt it now; the reconciliation sweep repairs grants lost with the log
+                plugin.getLogger().severe("Failed to log permission change for " + playerId + ": " + e.getMessage());
+            }
+            outstanding.put(operation.id, operation);
+        }
+        return operation;
+    }
+
+    public void close() {
+        if (worker != null) {
+            worker.cancel();
+        }
+        synchronized (logLock) {
+            try {
+                log.close();
+            } catch (IOException e) {
+                plugin.getLogger().warning("Failed to close permission outbox: " + e.getMessage());
+            }
+        }
+    }
+
+    private void drain() {
+        int limit = Math.max(1, plugin.getConfig().getInt("advanced.permission_concurrency", 4));
+        long now = System.currentTimeMillis();
+
+        for (Operation operation : outstanding.values()) {
+            if (inFlight.get() >= limit) {
+                return;
+            }
+            if (operation.running || operation.nextAttempt > now) {
+                continue;
+            }
+
+            operation.running = true;
+            inFlight.incrementAndGet();
+            CompletableFuture<Boolean> result = operation.grant
+                    ? plugin.getPermissionUtils().grantRolePermissions(operation.playerId, operation.role)
+                    : plugin.getPermissionUtils().revokeRolePermissions(operation.playerId, operation.role);
+            result.whenComplete((applied, error) -> {
+                if (error instanceof PermissionUnavailableException) {
+                    // Retrying can't help, so it is dropped; the reconciliation sweep picks up the grant if that changes
+                    plugin.getLogger().severe("Dropping permission change for role '" + operation.role + "' of player "
+                            + operation.playerId + ": " + error.getMessage());
+                    finish(operation, false, true);
+                } else {
+                    finish(operation, error == null && applied, false);
+                }
+            });
+        }
+    }
+
+    private void finish(Operation operation, boolean applied, boolean permanent) {
+        inFlight.decrementAndGet();
+        operation.firstAttempt.complete(applied);
+
+        if (!applied && !permanent) {
+            operation.attempts++;
+            long backoff = Math.min(MAX_BACKOFF, BASE_BACKOFF << Math.min(operation.attempts - 1, 20));
+            operation.nextAttempt = System.currentTimeMillis() + backoff;
+            operation.running = false;
+            plugin.getLogger().warning("Permission change for role '" + operation.role + "' of player "
+                    + operation.playerId + " failed, retrying in " + TimeUnit.MILLISECONDS.toSeconds(backoff) + "s");
+            return;
+        }
+
+        synchronized (logLock) {
+            outstanding.remove(operation.id);
+            queuedKeys.remove(operation.key());
+            try {
+                if (outstanding.isEmpty()) {
+                    // Nothing left to replay, so start the log over
+                    log.open(new ArrayList<Operation>());
+                } else {
+                    log.appendDone(operation.id);
+                }
+            } catch (IOException e) {
+                // Replaying it later only repeats a change LuckPerms treats as a no-op
+                plugin.getLogger().warning("Failed to log finished permission change: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * A queued grant or revoke.
+     */
+    static final class Operation {
+        private final long id;
+        private final UUID playerId;
+        private final String role;
+        private final boolean grant;
+        private final CompletableFuture<Boolean> firstAttempt = new CompletableFuture<>();
+        private volatile boolean running;
+        private volatile int attempts;
+        private volatile long nextAttempt;
+
+        Operation(long id, UUID playerId, String role, boolean grant) {
+            this.id = id;
+            this.playerId = playerId;
+            this.role = role;
+            this.grant = grant;
+        }
+
+        long getId() {
+            return id;
+        }
+
+        UUID getPlayerId() {
+            return playerId;
+        }
+
+        String getRole() {
+            return role;
+        }
+
+        boolean isGrant() {
+            return grant;
+        }
+
+        private String key() {
+            return key(playerId, role, grant);
+        }
+
+        private static String key(UUID playerId, String role, boolean grant) {
+            return playerId + ":" + role + ":" + (grant ? '+' : '-');
+        }
+    }
+}
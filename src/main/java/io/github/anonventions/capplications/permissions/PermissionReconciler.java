@@ -0,0 +1,143 @@
+package io.github.anonventions.capplications.permissions;
+
+import io.github.anonventions.capplications.CApplications;
+import io.github.anonventions.capplications.storage.StatusEntry;
+import net.luckperms.api.LuckPerms;
+import net.luckperms.api.model.user.User;
+import net.luckperms.api.node.Node;
+import org.bukkit.Bukkit;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Periodically compares accepted applications in the status history with the
+ * nodes players actually hold in LuckPerms, and queues a grant on the
+ * {@link PermissionOutbox} for every one that has gone missing.
+ */
+public class PermissionReconciler {
+
+    private static final int BATCH_SIZE = 50;
+
+    private final CApplications plugin;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public PermissionReconciler(CApplications plugin) {
+        this.plugin = plugin;
+    }
+
+    public void start() {
+        long minutes = plugin.getConfig().getLong("advanced.permission_reconcile_interval", 60);
+        if (minutes <= 0) {
+            return;
+        }
+
+        long interval = minutes * 20L * 60;
+        Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, this::run, interval, interval);
+    }
+
+    /**
+     * Runs one sweep on the calling thread; it blocks on LuckPerms, so never call it from the main thread.
+     */
+    public void run() {
+        LuckPerms luckPerms = plugin.getPermissionUtils().getLuckPerms();
+        if (luckPerms == null || !running.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            int checked = 0;
+            int repaired = 0;
+            Map<UUID, List<String>> batch = new LinkedHashMap<>();
+            for (UUID playerId : plugin.getHistoryStore().getPlayers()) {
+                List<String> roles = acceptedRoles(playerId);
+                if (roles.isEmpty()) continue;
+
+                batch.put(playerId, roles);
+                if (batch.size() >= BATCH_SIZE) {
+                    checked += batch.size();
+                    repaired += reconcile(luckPerms, batch);
+                    batch.clear();
+                }
+            }
+            checked += batch.size();
+            repaired += reconcile(luckPerms, batch);
+
+            if (repaired > 0) {
+                plugin.getLogger().info("Permission sweep queued " + repaired + " missing grant(s) for "
+                        + checked + " accepted player(s).");
+            }
+        } catch (RuntimeException e) {
+            plugin.getLogger().warning("Permission sweep failed: " + e.getMessage());
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * @return the roles whose latest decision for the player was an acceptance
+     */
+    private List<String> acceptedRoles(UUID playerId) {
+        Map<String, String> latest = new HashMap<>();
+        for (StatusEntry entry : plugin.getHistoryStore().getHistory(playerId)) {
+            latest.put(entry.getRole(), entry.getStatus());
+        }
+
+        List<String> roles = new ArrayList<>(0);
+        for (Map.Entry<String, String> entry : latest.entrySet()) {
+            if ("accepted".equalsIgnoreCase(entry.getValue())) {
+                roles.add(entry.getKey());
+            }
+        }
+        return roles;
+    }
+
+    private int reconcile(LuckPerms luckPerms, Map<UUID, List<String>> batch) {
+        // Load the whole batch concurrently, then check each user
+        Map<UUID, CompletableFuture<User>> loads = new LinkedHashMap<>();
+        for (UUID playerId : batch.keySet()) {
+            loads.put(playerId, luckPerms.getUserManager().loadUser(playerId));
+        }
+
+        int repaired = 0;
+        for (Map.Entry<UUID, CompletableFuture<User>> load : loads.entrySet()) {
+            UUID playerId = load.getKey();
+            User user;
+            try {
+                user = load.getValue().join();
+            } catch (RuntimeException e) {
+                plugin.getLogger().warning("Failed to load LuckPerms user " + playerId + ": " + e.getMessage());
+                continue;
+            }
+
+            for (String role : batch.get(playerId)) {
+                String permission = plugin.getConfig().getString("permissions." + role);
+                if (permission != null && !hasNode(user, permission)
+                        && !plugin.getPermissionOutbox().isQueued(playerId, role, true)
+                        && plugin.getPermissionOutbox().enqueue(playerId, role, true)) {
+                    repaired++;
+                }
+            }
+
+            if (Bukkit.getPlayer(playerId) == null) {
+                luckPerms.getUserManager().cleanupUser(user);
+            }
+        }
+        return repaired;
+    }
+
+    private static boolean hasNode(User user, String permission) {
+        for (Node node : user.getNodes()) {
+            if (node.getValue() && node.getKey().equalsIgnoreCase(permission)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
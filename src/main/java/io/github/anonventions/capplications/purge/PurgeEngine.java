@@ -0,0 +1,309 @@
+package io.github.anonventions.capplications.purge;
+
+import io.github.anonventions.capplications.CApplications;
+import io.github.anonventions.capplications.storage.PlayerHistoryStore;
+import io.github.anonventions.capplications.storage.PurgeResult;
+import io.github.anonventions.capplications.storage.StatusEntry;
+import io.github.anonventions.capplications.utils.MessageUtils;
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.bukkit.scheduler.BukkitTask;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs {@code /app purge} in the background. Players are split into shards by
+ * the first byte of their UUID, so shard membership does not depend on who
+ * else has history; shards run on a bounded fork/join pool and each finished
+ * shard is written to {@code purge-checkpoint.json} so an interrupted purge
+ * can be resumed with the same cutoff.
+ */
+public class PurgeEngine {
+
+    private static final int SHARDS = 256;
+
+    private final CApplications plugin;
+    private final MessageUtils messageUtils;
+    private final File checkpointFile;
+    private volatile Job job;
+
+    public PurgeEngine(CApplications plugin) {
+        this.plugin = plugin;
+        this.messageUtils = plugin.getMessageUtils();
+        this.checkpointFile = new File(plugin.getDataFolder(), "purge-checkpoint.json");
+
+        if (checkpointFile.exists()) {
+            plugin.getLogger().info("An interrupted purge can be resumed with /app purge resume.");
+        }
+    }
+
+    /**
+     * @return {@code false} if another purge is already running
+     */
+    public synchronized boolean start(CommandSender sender, long cutoff, boolean dryRun) {
+        return start(sender, cutoff, dryRun, new HashSet<>());
+    }
+
+    /**
+     * Resumes the purge recorded in the checkpoint.
+     *
+     * @return {@code false} if there is nothing to resume or a purge is already running
+     */
+    public synchronized boolean resume(CommandSender sender) {
+        if (job != null || !checkpointFile.exists()) {
+            return false;
+        }
+
+        try {
+            String content = new String(Files.readAllBytes(checkpointFile.toPath()), StandardCharsets.UTF_8);
+            JSONObject json = (JSONObject) new JSONParser().parse(content);
+            Set<Integer> completed = new HashSet<>();
+            for (Object shard : (JSONArray) json.get("completed")) {
+                completed.add(((Number) shard).intValue());
+            }
+            return start(sender, ((Number) json.get("cutoff")).longValue(), false, completed);
+        } catch (Exception e) {
+            plugin.getLogger().warning("Failed to read purge checkpoint: " + e.getMessage());
+            return false;
+        }
+    }
+
+    public synchronized boolean cancel() {
+        if (job == null) {
+            return false;
+        }
+        job.cancelled = true;
+        return true;
+    }
+
+    public boolean isRunning() {
+        return job != null;
+    }
+
+    /**
+     * Stops a running purge on shutdown; its checkpoint is kept for resuming.
+     */
+    public void close() {
+        Job running = job;
+        if (running == null) {
+            return;
+        }
+
+        running.cancelled = true;
+        running.pool.shutdown();
+        try {
+            running.pool.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean start(CommandSender sender, long cutoff, boolean dryRun, Set<Integer> completed) {
+        if (job != null) {
+            return false;
+        }
+
+        int parallelism = Math.max(1, plugin.getConfig().getInt("advanced.purge_threads", 2));
+        Job started = new Job(sender, cutoff, dryRun, completed, new ForkJoinPool(parallelism));
+        job = started;
+
+        String date = Instant.ofEpochMilli(cutoff).atZone(ZoneId.systemDefault()).toLocalDate().toString();
+        messageUtils.sendMessage(sender, dryRun ? "admin.purge_dry_run_started" : "admin.purge_started", date);
+
+        started.progressTask = Bukkit.getScheduler().runTaskTimer(plugin, () -> reportProgress(started), 100L, 100L);
+        started.pool.execute(() -> run(started));
+        return true;
+    }
+
+    private void run(Job job) {
+        PlayerHistoryStore historyStore = plugin.getHistoryStore();
+        try {
+            if (!job.dryRun) {
+                historyStore.beginPurge();
+                writeCheckpoint(job);
+            }
+
+            List<List<UUID>> shards = new ArrayList<>(SHARDS);
+            for (int i = 0; i < SHARDS; i++) {
+                shards.add(new ArrayList<>());
+            }
+            for (UUID playerId : historyStore.getPlayers()) {
+                shards.get((int) (playerId.getMostSignificantBits() >>> 56)).add(playerId);
+            }
+
+            List<ForkJoinTask<?>> tasks = new ArrayList<>();
+            for (int i = 0; i < SHARDS; i++) {
+                if (job.completed.contains(i)) {
+                    job.shardsDone.incrementAndGet();
+                    continue;
+                }
+
+                int shard = i;
+                List<UUID> players = shards.get(i);
+                tasks.add(ForkJoinTask.adapt(() -> purgeShard(job, shard, players)));
+            }
+            ForkJoinTask.invokeAll(tasks);
+        } catch (RuntimeException e) {
+            plugin.getLogger().severe("Purge failed: " + e.getMessage());
+            job.failures.incrementAndGet();
+        }
+
+        finish(job);
+    }
+
+    private void purgeShard(Job job, int shard, List<UUID> players) {
+        int failures = 0;
+        for (UUID playerId : players) {
+            if (job.cancelled) {
+                return;
+            }
+
+            try {
+                PurgeResult result = plugin.getHistoryStore().purge(playerId, job.cutoff, job.dryRun);
+                if (result.getRemoved().isEmpty()) {
+                    continue;
+                }
+
+                job.players.incrementAndGet();
+                job.entries.addAndGet(result.getRemoved().size());
+                job.bytes.addAndGet(result.getBytesReclaimed());
+                if (result.isEmptied()) {
+                    job.emptied.incrementAndGet();
+                }
+                if (!job.dryRun) {
+                    for (StatusEntry entry : result.getRemoved()) {
+                        plugin.getStatsAggregator().remove(entry);
+                    }
+                }
+            } catch (RuntimeException e) {
+                plugin.getLogger().warning("Failed to purge history for " + playerId + ": " + e.getMessage());
+                failures++;
+            }
+        }
+
+        job.shardsDone.incrementAndGet();
+        if (failures > 0) {
+            // Leave the shard out of the checkpoint so a resume retries it
+            job.failures.addAndGet(failures);
+        } else if (!job.dryRun) {
+            job.completed.add(shard);
+            writeCheckpoint(job);
+        }
+    }
+
+    private void finish(Job finished) {
+        boolean clean = !finished.cancelled && finished.failures.get() == 0;
+        if (!finished.dryRun && clean && !checkpointFile.delete() && checkpointFile.exists()) {
+            plugin.getLogger().warning("Failed to remove purge checkpoint.");
+        }
+        finished.pool.shutdown();
+
+        if (!plugin.isEnabled()) {
+            return;
+        }
+
+        plugin.getDispatcher().dispatch(() -> {
+            finished.progressTask.cancel();
+            synchronized (this) {
+                job = null;
+            }
+
+            CommandSender sender = finished.sender;
+            if (finished.cancelled) {
+                messageUtils.sendMessage(sender, "admin.purge_cancelled", finished.shardsDone.get(), SHARDS);
+                if (!finished.dryRun) {
+                    messageUtils.sendMessage(sender, "admin.purge_resumable");
+                }
+                return;
+            }
+
+            messageUtils.sendMessage(sender, finished.dryRun ? "admin.purge_dry_run_finished" : "admin.purge_finished",
+                    finished.entries.get(), finished.players.get(), finished.emptied.get(), formatBytes(finished.bytes.get()));
+            if (finished.failures.get() > 0) {
+                messageUtils.sendMessage(sender, "admin.purge_failures", finished.failures.get());
+            }
+        });
+    }
+
+    private void reportProgress(Job job) {
+        int done = job.shardsDone.get();
+        if (done != job.lastReported && !job.cancelled) {
+            job.lastReported = done;
+            messageUtils.sendMessage(job.sender, "admin.purge_progress", done, SHARDS, job.entries.get());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void writeCheckpoint(Job job) {
+        JSONObject json = new JSONObject();
+        json.put("cutoff", job.cutoff);
+        JSONArray completed = new JSONArray();
+        completed.addAll(job.completed);
+        json.put("completed", completed);
+
+        synchronized (checkpointFile) {
+            File temp = new File(checkpointFile.getPath() + ".tmp");
+            try {
+                Files.write(temp.toPath(), json.toJSONString().getBytes(StandardCharsets.UTF_8));
+                Files.move(temp.toPath(), checkpointFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                plugin.getLogger().warning("Failed to write purge checkpoint: " + e.getMessage());
+            }
+        }
+    }
+
+    private static String formatBytes(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        } else if (bytes < 1024 * 1024) {
+            return String.format("%.1f KB", bytes / 1024.0);
+        }
+        return String.format("%.1f MB", bytes / (1024.0 * 1024));
+    }
+
+    private static final class Job {
+        private final CommandSender sender;
+        private final long cutoff;
+        private final boolean dryRun;
+        private final Set<Integer> completed;
+        private final ForkJoinPool pool;
+        private final AtomicInteger shardsDone = new AtomicInteger();
+        private final AtomicInteger failures = new AtomicInteger();
+        private final AtomicLong players = new AtomicLong();
+        private final AtomicLong emptied = new AtomicLong();
+        private final AtomicLong entries = new AtomicLong();
+        private final AtomicLong bytes = new AtomicLong();
+        private volatile boolean cancelled;
+        private BukkitTask progressTask;
+        private int lastReported;
+
+        private Job(CommandSender sender, long cutoff, boolean dryRun, Set<Integer> completed, ForkJoinPool pool) {
+            this.sender = sender;
+            this.cutoff = cutoff;
+            this.dryRun = dryRun;
+            this.completed = ConcurrentHashMap.newKeySet();
+            this.completed.addAll(completed);
+            this.pool = pool;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package io.github.anonventions.capplications.roles;
+
+import org.bukkit.Statistic;
+import org.bukkit.entity.Player;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The player data requirements are checked against, captured on the main
+ * thread and reused for a short time so every role can be evaluated at once.
+ */
+public final class PlayerSnapshot {
+
+    private final Player player;
+    private final long takenAt;
+    private final long playtime;
+    private final long accountAge;
+
+    // Permission results are memoized since several roles often share a node
+    private final Map<String, Boolean> permissions = new HashMap<>();
+
+    PlayerSnapshot(Player player) {
+        this.player = player;
+        this.takenAt = System.currentTimeMillis();
+        // PLAY_ONE_MINUTE counts ticks
+        this.playtime = player.getStatistic(Statistic.PLAY_ONE_MINUTE) * 50L;
+        long firstPlayed = player.getFirstPlayed();
+        this.accountAge = firstPlayed > 0 ? takenAt - firstPlayed : 0;
+    }
+
+    public boolean hasPermission(String node) {
+        synchronized (permissions) {
+            Boolean result = permissions.get(node);
+            if (result == null) {
+                result = player.hasPermission(node);
+                permissions.put(node, result);
+            }
+            return result;
+        }
+    }
+
+    public long getPlaytime() {
+        return playtime;
+    }
+
+    public long getAccountAge() {
+        return accountAge;
+    }
+
+    long getTakenAt() {
+        return takenAt;
+    }
+
+    Player getPlayer() {
+        return player;
+    }
+}
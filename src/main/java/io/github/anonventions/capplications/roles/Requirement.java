@@ -0,0 +1,18 @@
+package io.github.anonventions.capplications.roles;
+
+/**
+ * A compiled requirement line from a role's {@code requirements} list.
+ */
+public interface Requirement {
+
+    boolean test(PlayerSnapshot player);
+
+    /**
+     * @return {@code false} for informational lines that staff check by hand
+     */
+    default boolean isChecked() {
+        return true;
+    }
+
+    String getDescription();
+}
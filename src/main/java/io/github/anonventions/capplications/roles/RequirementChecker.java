@@ -0,0 +1,62 @@
+package io.github.anonventions.capplications.roles;
+
+import io.github.anonventions.capplications.CApplications;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluates compiled role requirements against per-player snapshots that are
+ * cached for {@code advanced.requirement_cache_seconds}.
+ */
+public class RequirementChecker {
+
+    private final CApplications plugin;
+    private final Map<UUID, PlayerSnapshot> snapshots = new ConcurrentHashMap<>();
+    private volatile long ttlMillis;
+
+    public RequirementChecker(CApplications plugin) {
+        this.plugin = plugin;
+        reloadSettings();
+    }
+
+    public void reloadSettings() {
+        ttlMillis = TimeUnit.SECONDS.toMillis(Math.max(0, plugin.getConfig().getInt("advanced.requirement_cache_seconds", 30)));
+        snapshots.clear();
+    }
+
+    /**
+     * @return a cached snapshot of the player, taking a new one if it expired
+     */
+    public PlayerSnapshot snapshot(Player player) {
+        long now = System.currentTimeMillis();
+        PlayerSnapshot snapshot = snapshots.get(player.getUniqueId());
+        if (snapshot == null || snapshot.getPlayer() != player || now - snapshot.getTakenAt() >= ttlMillis) {
+            snapshot = new PlayerSnapshot(player);
+            snapshots.put(player.getUniqueId(), snapshot);
+        }
+        return snapshot;
+    }
+
+    /**
+     * @return the checked requirements of {@code role} the snapshot fails
+     */
+    public List<Requirement> unmet(PlayerSnapshot snapshot, RoleDefinition role) {
+        List<Requirement> unmet = new ArrayList<>(0);
+        for (Requirement requirement : role.getRequirements()) {
+            if (requirement.isChecked() && !requirement.test(snapshot)) {
+                unmet.add(requirement);
+            }
+        }
+        return unmet;
+    }
+
+    public void evict(UUID playerId) {
+        snapshots.remove(playerId);
+    }
+}
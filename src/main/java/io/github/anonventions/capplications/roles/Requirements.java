@@ -0,0 +1,161 @@
+package io.github.anonventions.capplications.roles;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+/**
+ * Compiles requirement lines such as {@code permission:node},
+ * {@code playtime:10h} or {@code account_age:14d}. Lines without a known
+ * prefix are kept as informational text.
+ */
+public final class Requirements {
+
+    private static final Map<String, Function<String, Requirement>> PARSERS = new HashMap<>();
+
+    static {
+        PARSERS.put("permission", Permission::new);
+        PARSERS.put("playtime", value -> new Playtime(parseDuration(value)));
+        PARSERS.put("account_age", value -> new AccountAge(parseDuration(value)));
+    }
+
+    private Requirements() {
+    }
+
+    public static Requirement compile(String line, String role, Logger logger) {
+        int colon = line.indexOf(':');
+        Function<String, Requirement> parser = colon > 0
+                ? PARSERS.get(line.substring(0, colon).trim().toLowerCase(Locale.ROOT))
+                : null;
+        if (parser == null) {
+            return new Description(line);
+        }
+
+        try {
+            return parser.apply(line.substring(colon + 1).trim());
+        } catch (IllegalArgumentException e) {
+            logger.warning("Invalid requirement '" + line + "' for role '" + role + "': " + e.getMessage());
+            return new Description(line);
+        }
+    }
+
+    /**
+     * Parses {@code 30m}, {@code 12h} or {@code 7d}; a bare number is hours.
+     */
+    static long parseDuration(String value) {
+        if (value.isEmpty()) {
+            throw new IllegalArgumentException("missing duration");
+        }
+
+        char unit = Character.toLowerCase(value.charAt(value.length() - 1));
+        TimeUnit timeUnit;
+        switch (unit) {
+            case 'm': timeUnit = TimeUnit.MINUTES; break;
+            case 'h': timeUnit = TimeUnit.HOURS; break;
+            case 'd': timeUnit = TimeUnit.DAYS; break;
+            default:
+                if (!Character.isDigit(unit)) {
+                    throw new IllegalArgumentException("unknown unit '" + unit + "'");
+                }
+                timeUnit = TimeUnit.HOURS;
+        }
+
+        String amount = Character.isDigit(unit) ? value : value.substring(0, value.length() - 1);
+        long number = Long.parseLong(amount.trim());
+        if (number < 0) {
+            throw new IllegalArgumentException("negative duration");
+        }
+        return timeUnit.toMillis(number);
+    }
+
+    static String formatDuration(long millis) {
+        long hours = TimeUnit.MILLISECONDS.toHours(millis);
+        if (hours >= 24 && hours % 24 == 0) {
+            return (hours / 24) + "d";
+        }
+        return hours > 0 ? hours + "h" : TimeUnit.MILLISECONDS.toMinutes(millis) + "m";
+    }
+
+    static final class Permission implements Requirement {
+        private final String node;
+
+        Permission(String node) {
+            if (node.isEmpty()) {
+                throw new IllegalArgumentException("missing permission");
+            }
+            this.node = node;
+        }
+
+        @Override
+        public boolean test(PlayerSnapshot player) {
+            return player.hasPermission(node);
+        }
+
+        @Override
+        public String getDescription() {
+            return "Permission " + node;
+        }
+    }
+
+    static final class Playtime implements Requirement {
+        private final long millis;
+
+        Playtime(long millis) {
+            this.millis = millis;
+        }
+
+        @Override
+        public boolean test(PlayerSnapshot player) {
+            return player.getPlaytime() >= millis;
+        }
+
+        @Override
+        public String getDescription() {
+            return "At least " + formatDuration(millis) + " of playtime";
+        }
+    }
+
+    static final class AccountAge implements Requirement {
+        private final long millis;
+
+        AccountAge(long millis) {
+            this.millis = millis;
+        }
+
+        @Override
+        public boolean test(PlayerSnapshot player) {
+            return player.getAccountAge() >= millis;
+        }
+
+        @Override
+        public String getDescription() {
+            return "First joined at least " + formatDuration(millis) + " ago";
+        }
+    }
+
+    static final class Description implements Requirement {
+        private final String text;
+
+        Description(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public boolean test(PlayerSnapshot player) {
+            return true;
+        }
+
+        @Override
+        public boolean isChecked() {
+            return false;
+        }
+
+        @Override
+        public String getDescription() {
+            return text;
+        }
+    }
+}
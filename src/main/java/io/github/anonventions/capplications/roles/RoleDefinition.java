@@ -0,0 +1,55 @@
+package io.github.anonventions.capplications.roles;
+
+import org.bukkit.Material;
+
+import java.util.List;
+
+/**
+ * One role from {@code applications.yml}, resolved once at load time.
+ */
+public final class RoleDefinition {
+
+    private final String id;
+    private final String displayName;
+    private final String description;
+    private final Material icon;
+    private final List<Requirement> requirements;
+    private final List<String> questions;
+
+    RoleDefinition(String id, String displayName, String description, Material icon,
+                   List<Requirement> requirements, List<String> questions) {
+        this.id = id;
+        this.displayName = displayName;
+        this.description = description;
+        this.icon = icon;
+        this.requirements = requirements;
+        this.questions = questions;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * @return the display name with colour codes already translated
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public Material getIcon() {
+        return icon;
+    }
+
+    public List<Requirement> getRequirements() {
+        return requirements;
+    }
+
+    public List<String> getQuestions() {
+        return questions;
+    }
+}
@@ -0,0 +1,99 @@
+package io.github.anonventions.capplications.roles;
+
+import org.bukkit.ChatColor;
+import org.bukkit.Material;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * Immutable snapshot of every configured role. A new registry is compiled on
+ * each load of {@code applications.yml} and swapped in whole, so readers never
+ * lock or walk the config tree.
+ */
+public final class RoleRegistry {
+
+    public static final RoleRegistry EMPTY = new RoleRegistry(Collections.<String, RoleDefinition>emptyMap());
+
+    private static final Material DEFAULT_ICON = Material.BOOK;
+
+    private final Map<String, RoleDefinition> roles;
+
+    private RoleRegistry(Map<String, RoleDefinition> roles) {
+        this.roles = roles;
+    }
+
+    public static RoleRegistry compile(ConfigurationSection section, Logger logger) {
+        if (section == null) {
+            logger.warning("No roles configured in applications.yml");
+            return EMPTY;
+        }
+
+        Map<String, RoleDefinition> roles = new LinkedHashMap<>();
+        for (String id : section.getKeys(false)) {
+            ConfigurationSection role = section.getConfigurationSection(id);
+            if (role == null) {
+                logger.warning("Ignoring role '" + id + "': not a section");
+                continue;
+            }
+
+            String iconName = role.getString("icon");
+            Material icon = iconName != null ? Material.matchMaterial(iconName) : DEFAULT_ICON;
+            if (icon == null) {
+                logger.warning("Unknown icon '" + iconName + "' for role '" + id + "', using " + DEFAULT_ICON);
+                icon = DEFAULT_ICON;
+            }
+
+            List<Requirement> requirements = new ArrayList<>();
+            for (String line : role.getStringList("requirements")) {
+                requirements.add(Requirements.compile(line, id, logger));
+            }
+
+            roles.put(id, new RoleDefinition(id,
+                    ChatColor.translateAlternateColorCodes('&', role.getString("display_name", id)),
+                    role.getString("description", ""),
+                    icon,
+                    Collections.unmodifiableList(requirements),
+                    Collections.unmodifiableList(new ArrayList<>(role.getStringList("questions")))));
+        }
+        return new RoleRegistry(Collections.unmodifiableMap(roles));
+    }
+
+    /**
+     * @return the role, or {@code null} if it isn't configured
+     */
+    public RoleDefinition get(String id) {
+        return id != null ? roles.get(id) : null;
+    }
+
+    public boolean contains(String id) {
+        return get(id) != null;
+    }
+
+    /**
+     * @return the role's coloured display name, or the id for roles no longer configured
+     */
+    public String getDisplayName(String id) {
+        RoleDefinition role = get(id);
+        return role != null ? role.getDisplayName() : id;
+    }
+
+    public Set<String> getIds() {
+        return roles.keySet();
+    }
+
+    public Collection<RoleDefinition> getRoles() {
+        return roles.values();
+    }
+
+    public int size() {
+        return roles.size();
+    }
+}
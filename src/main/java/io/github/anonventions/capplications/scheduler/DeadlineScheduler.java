@@ -0,0 +1,211 @@
+package io.github.anonventions.capplications.scheduler;
+
+import io.github.anonventions.capplications.CApplications;
+import io.github.anonventions.capplications.index.CooldownIndex;
+import io.github.anonventions.capplications.index.PendingIndex;
+import io.github.anonventions.capplications.storage.ApplicationRecord;
+import io.github.anonventions.capplications.storage.StorageException;
+import io.github.anonventions.capplications.utils.MessageUtils;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fires application expiries and "cooldown over" notices at their deadline.
+ * Deadlines sit in a priority queue, so each tick only peeks at the head and
+ * nothing is scanned while no deadline is due.
+ *
+ * <p>Replaced or stale deadlines are not removed eagerly; they are skipped
+ * when they reach the head of the queue.</p>
+ */
+public class DeadlineScheduler implements Runnable {
+
+    private final CApplications plugin;
+    private final MessageUtils messageUtils;
+    private final PriorityQueue<Deadline> queue = new PriorityQueue<>(Comparator.comparingLong(Deadline::getTime));
+    // Latest deadline per key; anything else in the queue is stale
+    private final Map<String, Deadline> current = new HashMap<>();
+
+    public DeadlineScheduler(CApplications plugin) {
+        this.plugin = plugin;
+        this.messageUtils = plugin.getMessageUtils();
+    }
+
+    /**
+     * Schedules expiry for every pending application and cooldowns for loaded players.
+     */
+    public void start() {
+        rebuild();
+        Bukkit.getScheduler().runTaskTimer(plugin, this, 20L, 20L);
+    }
+
+    /**
+     * Recomputes every deadline, e.g. after the expiry or cooldown settings
+     * changed. Players are rescheduled a few at a time in the background.
+     */
+    public void rebuild() {
+        synchronized (this) {
+            queue.clear();
+            current.clear();
+        }
+
+        PendingIndex index = plugin.getPendingIndex();
+        List<UUID> pending = new ArrayList<>();
+        for (PendingIndex.Entry entry : index.page(null, 0, Integer.MAX_VALUE)) {
+            pending.add(entry.getPlayerId());
+        }
+        Map<UUID, CooldownIndex.PlayerCooldowns> loaded = plugin.getCooldownIndex().getLoaded();
+
+        Iterator<UUID> expiries = pending.iterator();
+        Iterator<Map.Entry<UUID, CooldownIndex.PlayerCooldowns>> cooldowns = loaded.entrySet().iterator();
+        plugin.getWorkScheduler().submit(WorkScheduler.Priority.BACKGROUND, "deadline rebuild", () -> {
+            // Read the current state, since it may have changed since the rebuild began
+            if (expiries.hasNext()) {
+                UUID playerId = expiries.next();
+                PendingIndex.Entry entry = index.get(playerId);
+                if (entry != null) {
+                    scheduleExpiry(playerId, entry.getSubmissionTime());
+                }
+            } else if (cooldowns.hasNext()) {
+                Map.Entry<UUID, CooldownIndex.PlayerCooldowns> player = cooldowns.next();
+                scheduleCooldowns(player.getKey(), player.getValue().getLastDeclined());
+            }
+            return expiries.hasNext() || cooldowns.hasNext();
+        });
+    }
+
+    public void scheduleExpiry(UUID playerId, long submissionTime) {
+        long expiryTime = TimeUnit.DAYS.toMillis(plugin.getConfig().getInt("settings.expiry_days", 14));
+        add(new Deadline(Type.EXPIRY, playerId, null, submissionTime, submissionTime + expiryTime));
+    }
+
+    public void scheduleCooldown(UUID playerId, String role, long decidedAt) {
+        long cooldownTime = TimeUnit.HOURS.toMillis(plugin.getConfig().getInt("settings.cooldown_hours", 24));
+        if (decidedAt + cooldownTime > System.currentTimeMillis()) {
+            add(new Deadline(Type.COOLDOWN, playerId, role, decidedAt, decidedAt + cooldownTime));
+        }
+    }
+
+    /**
+     * Schedules the running cooldown, if any, for each role.
+     *
+     * @param lastDeclined when each role was last denied or expired
+     */
+    public void scheduleCooldowns(UUID playerId, Map<String, Long> lastDeclined) {
+        lastDeclined.forEach((role, decidedAt) -> scheduleCooldown(playerId, role, decidedAt));
+    }
+
+    public synchronized int size() {
+        return current.size();
+    }
+
+    private synchronized void add(Deadline deadline) {
+        current.put(deadline.key(), deadline);
+        queue.add(deadline);
+    }
+
+    @Override
+    public void run() {
+        long now = System.currentTimeMillis();
+        List<Deadline> due = new ArrayList<>();
+
+        synchronized (this) {
+            while (!queue.isEmpty() && queue.peek().getTime() <= now) {
+                Deadline deadline = queue.poll();
+                if (current.get(deadline.key()) == deadline) {
+                    current.remove(deadline.key());
+                    due.add(deadline);
+                }
+            }
+        }
+
+        for (Deadline deadline : due) {
+            if (deadline.type == Type.EXPIRY) {
+                expire(deadline);
+            } else {
+                notifyCooldownOver(deadline);
+            }
+        }
+    }
+
+    private void expire(Deadline deadline) {
+        // Accepted, denied, cancelled or resubmitted applications no longer match
+        PendingIndex.Entry entry = plugin.getPendingIndex().get(deadline.playerId);
+        if (entry == null || entry.getSubmissionTime() != deadline.since) {
+            return;
+        }
+
+        plugin.getPendingIndex().remove(deadline.playerId);
+        String role = entry.getRole();
+        long now = System.currentTimeMillis();
+
+        plugin.getStripedExecutor().execute(deadline.playerId, () -> {
+            try {
+                ApplicationRecord record = plugin.getApplicationStore().load(deadline.playerId);
+                if (record == null || !record.hasStatus(ApplicationRecord.STATUS_PENDING)) {
+                    return;
+                }
+
+                record.setStatus(ApplicationRecord.STATUS_EXPIRED);
+                plugin.getApplicationStore().save(record);
+                plugin.savePlayerStatus(deadline.playerId, role, ApplicationRecord.STATUS_EXPIRED);
+            } catch (StorageException e) {
+                plugin.getLogger().warning("Failed to expire application for " + deadline.playerId + ": " + e.getMessage());
+            }
+        });
+
+        scheduleCooldown(deadline.playerId, role, now);
+
+        Player player = Bukkit.getPlayer(deadline.playerId);
+        if (player != null && player.isOnline()) {
+            messageUtils.sendMessage(player, "application.expired", role,
+                    String.valueOf(plugin.getConfig().getInt("settings.expiry_days", 14)));
+        }
+    }
+
+    private void notifyCooldownOver(Deadline deadline) {
+        Player player = Bukkit.getPlayer(deadline.playerId);
+        if (player != null && player.isOnline()) {
+            messageUtils.sendMessage(player, "application.cooldown_over", deadline.role);
+        }
+    }
+
+    private enum Type {
+        EXPIRY,
+        COOLDOWN
+    }
+
+    private static final class Deadline {
+        private final Type type;
+        private final UUID playerId;
+        private final String role;
+        // Submission or decision time the deadline was derived from
+        private final long since;
+        private final long time;
+
+        private Deadline(Type type, UUID playerId, String role, long since, long time) {
+            this.type = type;
+            this.playerId = playerId;
+            this.role = role;
+            this.since = since;
+            this.time = time;
+        }
+
+        private long getTime() {
+            return time;
+        }
+
+        private String key() {
+            return type == Type.EXPIRY ? playerId.toString() : playerId + ":" + role;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package io.github.anonventions.capplications.scheduler;
+
+import io.github.anonventions.capplications.CApplications;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands work from async threads to the main thread. Actions are queued
+ * without locking and drained once per tick, within
+ * {@code advanced.main_thread_budget_ms}; whatever doesn't fit waits for the
+ * next tick instead of holding the server up.
+ */
+public class MainThreadDispatcher implements Runnable {
+
+    private final CApplications plugin;
+    private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicLong deferredTicks = new AtomicLong();
+    private long budget;
+    private BukkitTask task;
+
+    public MainThreadDispatcher(CApplications plugin) {
+        this.plugin = plugin;
+    }
+
+    public void start() {
+        reloadSettings();
+        task = Bukkit.getScheduler().runTaskTimer(plugin, this, 1L, 1L);
+    }
+
+    public void reloadSettings() {
+        budget = TimeUnit.MILLISECONDS.toNanos(Math.max(1, plugin.getConfig().getLong("advanced.main_thread_budget_ms", 5)));
+    }
+
+    /**
+     * Runs {@code action} on the main thread at the start of a coming tick; safe to call from any thread.
+     */
+    public void dispatch(Runnable action) {
+        queue.offer(action);
+        pending.incrementAndGet();
+    }
+
+    public int size() {
+        return pending.get();
+    }
+
+    /**
+     * @return how many ticks ran out of budget with actions still queued
+     */
+    public long getDeferredTicks() {
+        return deferredTicks.get();
+    }
+
+    @Override
+    public void run() {
+        long deadline = System.nanoTime() + budget;
+        Runnable action;
+        while ((action = queue.poll()) != null) {
+            pending.decrementAndGet();
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                plugin.getLogger().warning("Main thread action failed: " + e.getMessage());
+            }
+
+            if (System.nanoTime() >= deadline && !queue.isEmpty()) {
+                deferredTicks.incrementAndGet();
+                return;
+            }
+        }
+    }
+
+    public void close() {
+        if (task != null) {
+            task.cancel();
+        }
+        queue.clear();
+        pending.set(0);
+    }
+}
@@ -0,0 +1,138 @@
+package io.github.anonventions.capplications.scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Runs work for one player strictly in submission order, while work for
+ * players on different stripes runs in parallel. Every change to a player's
+ * application goes through here, so writers from the chat thread, commands
+ * and the schedulers can no longer overwrite each other.
+ */
+public class StripedExecutor {
+
+    private final Stripe[] stripes;
+    private final Logger logger;
+
+    public StripedExecutor(String name, int stripeCount, Logger logger) {
+        this.logger = logger;
+        this.stripes = new Stripe[Math.max(1, stripeCount)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe(name + "-" + i);
+        }
+    }
+
+    /**
+     * Like {@link #submit}, for tasks nobody waits on. Failures are logged.
+     */
+    public void execute(UUID playerId, Runnable task) {
+        submit(playerId, () -> {
+            task.run();
+            return null;
+        }).whenComplete((ignored, error) -> {
+            if (error != null) {
+                logger.warning("Task for " + playerId + " failed: " + error);
+            }
+        });
+    }
+
+    /**
+     * Once shut down, tasks run on the calling thread instead, since nothing
+     * else is left to race with them.
+     */
+    public <T> CompletableFuture<T> submit(UUID playerId, Supplier<T> task) {
+        Stripe stripe = stripes[Math.floorMod(playerId.hashCode(), stripes.length)];
+        long queuedAt = System.nanoTime();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Runnable timed = () -> {
+            stripe.recordWait(System.nanoTime() - queuedAt);
+            try {
+                result.complete(task.get());
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        };
+
+        try {
+            stripe.executor.execute(timed);
+        } catch (RejectedExecutionException e) {
+            timed.run();
+        }
+        return result;
+    }
+
+    public int getStripeCount() {
+        return stripes.length;
+    }
+
+    /**
+     * @return tasks waiting or running across all stripes
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.depth();
+        }
+        return size;
+    }
+
+    public List<String> describeMetrics() {
+        List<String> lines = new ArrayList<>(stripes.length);
+        for (int i = 0; i < stripes.length; i++) {
+            Stripe stripe = stripes[i];
+            long tasks = stripe.tasks.get();
+            double averageWait = tasks == 0 ? 0 : stripe.totalWait.get() / (double) tasks / 1_000_000;
+            lines.add(String.format("Stripe %d: %d queued, %d run, wait avg %.2fms max %.2fms",
+                    i, stripe.depth(), tasks, averageWait, stripe.maxWait.get() / 1_000_000.0));
+        }
+        return lines;
+    }
+
+    /**
+     * Stops taking work and waits for queued tasks to finish.
+     */
+    public void shutdown(long timeout, TimeUnit unit) throws InterruptedException {
+        for (Stripe stripe : stripes) {
+            stripe.executor.shutdown();
+        }
+
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (Stripe stripe : stripes) {
+            stripe.executor.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static final class Stripe {
+        private final ThreadPoolExecutor executor;
+        private final AtomicLong tasks = new AtomicLong();
+        private final AtomicLong totalWait = new AtomicLong();
+        private final AtomicLong maxWait = new AtomicLong();
+
+        private Stripe(String threadName) {
+            this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, threadName);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        private void recordWait(long nanos) {
+            tasks.incrementAndGet();
+            totalWait.addAndGet(nanos);
+            maxWait.accumulateAndGet(nanos, Math::max);
+        }
+
+        private int depth() {
+            return executor.getQueue().size() + executor.getActiveCount();
+        }
+    }
+}
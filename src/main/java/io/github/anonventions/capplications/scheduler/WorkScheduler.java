@@ -0,0 +1,135 @@
+package io.github.anonventions.capplications.scheduler;
+
+import io.github.anonventions.capplications.CApplications;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spreads work that has to run on the main thread, such as building GUI
+ * pages, over as many ticks as it needs. Jobs advance in small
+ * steps until {@code advanced.work_budget_ms} is used up for the tick;
+ * interactive jobs always go before background ones.
+ */
+public class WorkScheduler implements Runnable {
+
+    public enum Priority {
+        INTERACTIVE,
+        BACKGROUND
+    }
+
+    /**
+     * A resumable piece of work.
+     */
+    public interface Job {
+
+        /**
+         * Does one small unit of work.
+         *
+         * @return {@code true} if there is more to do
+         */
+        boolean step();
+    }
+
+    private final CApplications plugin;
+    private final Deque<Entry> interactive = new ArrayDeque<>();
+    private final Deque<Entry> background = new ArrayDeque<>();
+    private long budget;
+    private long tick;
+    private BukkitTask task;
+
+    // Finished jobs and the ticks they spanned
+    private long completed;
+    private long totalTicks;
+    private long maxTicks;
+
+    public WorkScheduler(CApplications plugin) {
+        this.plugin = plugin;
+    }
+
+    public void start() {
+        reloadSettings();
+        task = Bukkit.getScheduler().runTaskTimer(plugin, this, 1L, 1L);
+    }
+
+    public void reloadSettings() {
+        budget = TimeUnit.MILLISECONDS.toNanos(Math.max(1, plugin.getConfig().getLong("advanced.work_budget_ms", 10)));
+    }
+
+    /**
+     * Queues a job to start on the next tick. Main thread only.
+     */
+    public void submit(Priority priority, String name, Job job) {
+        (priority == Priority.INTERACTIVE ? interactive : background).add(new Entry(name, job, tick + 1));
+    }
+
+    public int size() {
+        return interactive.size() + background.size();
+    }
+
+    public String describeMetrics() {
+        double average = completed == 0 ? 0 : totalTicks / (double) completed;
+        return String.format("Tick-budgeted jobs: %d queued, %d done, spanning avg %.1f max %d ticks",
+                size(), completed, average, maxTicks);
+    }
+
+    @Override
+    public void run() {
+        tick++;
+        long deadline = System.nanoTime() + budget;
+        while (System.nanoTime() < deadline) {
+            Deque<Entry> jobs = !interactive.isEmpty() ? interactive : background;
+            Entry entry = jobs.peek();
+            if (entry == null) {
+                return;
+            }
+
+            boolean more;
+            try {
+                more = entry.job.step();
+            } catch (RuntimeException e) {
+                plugin.getLogger().warning("Job '" + entry.name + "' failed: " + e.getMessage());
+                more = false;
+            }
+
+            if (!more) {
+                jobs.poll();
+                finished(entry);
+            }
+        }
+    }
+
+    public void close() {
+        if (task != null) {
+            task.cancel();
+        }
+        interactive.clear();
+        background.clear();
+    }
+
+    private void finished(Entry entry) {
+        long spanned = tick - entry.startTick + 1;
+        completed++;
+        totalTicks += spanned;
+        maxTicks = Math.max(maxTicks, spanned);
+
+        if (plugin.getConfig().getBoolean("settings.debug", false)) {
+            plugin.getLogger().info("Job '" + entry.name + "' finished after " + spanned + " tick(s)");
+        }
+    }
+
+    private static final class Entry {
+        private final String name;
+        private final Job job;
+        private final long startTick;
+
+        private Entry(String name, Job job, long startTick) {
+            this.name = name;
+            this.job = job;
+            this.startTick = startTick;
+        }
+    }
+}
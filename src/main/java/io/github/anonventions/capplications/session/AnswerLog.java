@@ -0,0 +1,160 @@
+package io.github.anonventions.capplications.session;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Write-ahead log of chat answers typed since the last session checkpoint.
+ *
+ * <p>Records are {@code [int length][int crc32][uuid][long startTime][int index][answer]},
+ * where the start time tells apart successive applications of one player. A
+ * checkpoint first rotates the log to {@code <name>.old}, then saves the
+ * sessions and finally deletes the old file, so a crash at any point leaves
+ * every answer in one of the two files.</p>
+ */
+class AnswerLog {
+
+    private static final int MAX_RECORD_SIZE = 1 << 20;
+
+    private final File file;
+    private final File oldFile;
+    private final Logger logger;
+    private FileChannel channel;
+
+    AnswerLog(File file, Logger logger) {
+        this.file = file;
+        this.oldFile = new File(file.getPath() + ".old");
+        this.logger = logger;
+    }
+
+    /**
+     * Replays the rotated log followed by the current one.
+     */
+    synchronized void replay(Consumer consumer) throws IOException {
+        for (File log : new File[]{oldFile, file}) {
+            if (log.exists()) {
+                replay(log, consumer);
+            }
+        }
+    }
+
+    synchronized void open() throws IOException {
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    synchronized void append(UUID playerId, long startTime, int index, String answer) throws IOException {
+        if (channel == null) {
+            throw new IOException("Answer log is closed");
+        }
+
+        byte[] payload = encode(playerId, startTime, index, answer);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+
+        ByteBuffer buffer = ByteBuffer.allocate(8 + payload.length);
+        buffer.putInt(payload.length);
+        buffer.putInt((int) crc.getValue());
+        buffer.put(payload);
+        buffer.flip();
+
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(false);
+    }
+
+    /**
+     * Moves the current log aside and starts a new one.
+     */
+    synchronized void rotate() throws IOException {
+        close();
+        if (file.exists()) {
+            if (oldFile.exists()) {
+                // A previous checkpoint failed; keep both generations in one file
+                Files.write(oldFile.toPath(), Files.readAllBytes(file.toPath()), StandardOpenOption.APPEND);
+                Files.delete(file.toPath());
+            } else {
+                Files.move(file.toPath(), oldFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            }
+        }
+        open();
+    }
+
+    /**
+     * Drops the rotated log once its answers are safely stored.
+     */
+    synchronized void discardRotated() {
+        if (oldFile.exists() && !oldFile.delete()) {
+            logger.warning("Failed to delete " + oldFile.getName());
+        }
+    }
+
+    synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private void replay(File log, Consumer consumer) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(log.toPath()));
+        while (buffer.remaining() >= 8) {
+            int length = buffer.getInt();
+            int checksum = buffer.getInt();
+            if (length <= 0 || length > MAX_RECORD_SIZE || length > buffer.remaining()) {
+                logger.warning("Truncated record in " + log.getName() + ", ignoring the rest");
+                return;
+            }
+
+            byte[] payload = new byte[length];
+            buffer.get(payload);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            if ((int) crc.getValue() != checksum) {
+                logger.warning("Corrupt record in " + log.getName() + ", ignoring the rest");
+                return;
+            }
+
+            try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+                UUID playerId = new UUID(in.readLong(), in.readLong());
+                long startTime = in.readLong();
+                int index = in.readInt();
+                byte[] answer = new byte[in.readInt()];
+                in.readFully(answer);
+                consumer.accept(playerId, startTime, index, new String(answer, StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    private static byte[] encode(UUID playerId, long startTime, int index, String answer) throws IOException {
+        byte[] text = answer.getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(32 + text.length);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(playerId.getMostSignificantBits());
+            out.writeLong(playerId.getLeastSignificantBits());
+            out.writeLong(startTime);
+            out.writeInt(index);
+            out.writeInt(text.length);
+            out.write(text);
+        }
+        return bytes.toByteArray();
+    }
+
+    interface Consumer {
+        void accept(UUID playerId, long startTime, int index, String answer);
+    }
+}
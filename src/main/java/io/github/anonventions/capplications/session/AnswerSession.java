@@ -0,0 +1,97 @@
+package io.github.anonventions.capplications.session;
+
+import io.github.anonventions.capplications.storage.ApplicationRecord;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Answers of an application that is being filled in through chat.
+ */
+public class AnswerSession {
+
+    private final UUID playerId;
+    private final String role;
+    private final long startTime;
+    private final List<String> questions;
+    private final List<String> answers;
+    private boolean dirty;
+
+    AnswerSession(ApplicationRecord record) {
+        this.playerId = record.getPlayerId();
+        this.role = record.getRole();
+        this.startTime = record.getStartTime();
+        this.questions = new ArrayList<>(record.getQuestions());
+        this.answers = new ArrayList<>(record.getAnswers());
+    }
+
+    public UUID getPlayerId() {
+        return playerId;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    /**
+     * @return the start time of the application being answered, which identifies it
+     */
+    public long getStartTime() {
+        return startTime;
+    }
+
+    public synchronized List<String> getQuestions() {
+        return new ArrayList<>(questions);
+    }
+
+    public synchronized List<String> getAnswers() {
+        return new ArrayList<>(answers);
+    }
+
+    /**
+     * @return the index of the next unanswered question
+     */
+    public synchronized int getQuestionIndex() {
+        return answers.size();
+    }
+
+    public synchronized String getCurrentQuestion() {
+        return answers.size() < questions.size() ? questions.get(answers.size()) : null;
+    }
+
+    public synchronized int getQuestionCount() {
+        return questions.size();
+    }
+
+    public synchronized boolean isComplete() {
+        return answers.size() >= questions.size();
+    }
+
+    /**
+     * @return the answered question's index, or -1 if every question is already answered
+     */
+    synchronized int addAnswer(String answer) {
+        if (answers.size() >= questions.size()) {
+            return -1;
+        }
+        answers.add(answer);
+        dirty = true;
+        return answers.size() - 1;
+    }
+
+    synchronized void markDirty() {
+        dirty = true;
+    }
+
+    /**
+     * @return a copy of the answers if they changed since the last call, otherwise {@code null}
+     */
+    synchronized List<String> takeDirtyAnswers() {
+        if (!dirty) {
+            return null;
+        }
+        dirty = false;
+        return new ArrayList<>(answers);
+    }
+}
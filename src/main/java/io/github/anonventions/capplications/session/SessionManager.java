@@ -0,0 +1,202 @@
+package io.github.anonventions.capplications.session;
+
+import io.github.anonventions.capplications.CApplications;
+import io.github.anonventions.capplications.storage.ApplicationRecord;
+import io.github.anonventions.capplications.storage.ApplicationStore;
+import io.github.anonventions.capplications.storage.CachedApplicationStore;
+import io.github.anonventions.capplications.storage.StorageException;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps in-progress applications in memory while players answer in chat.
+ * Each answer is appended to {@code sessions.wal}; changed sessions are
+ * written to the application store every {@code settings.auto_save_interval}
+ * minutes and on shutdown, after which the log is cleared.
+ */
+public class SessionManager {
+
+    private final CApplications plugin;
+    private final AnswerLog log;
+    private final Map<UUID, AnswerSession> sessions = new ConcurrentHashMap<>();
+    private final Object checkpointLock = new Object();
+
+    public SessionManager(CApplications plugin) {
+        this.plugin = plugin;
+        this.log = new AnswerLog(new File(plugin.getDataFolder(), "sessions.wal"), plugin.getLogger());
+    }
+
+    /**
+     * Applies answers left in the log by a crash to their applications, then
+     * opens the log for writing.
+     */
+    public void recover() {
+        ApplicationStore store = plugin.getApplicationStore();
+        Map<UUID, ApplicationRecord> recovered = new HashMap<>();
+
+        try {
+            log.replay((playerId, startTime, index, answer) -> {
+                ApplicationRecord record = recovered.containsKey(playerId) ? recovered.get(playerId) : store.load(playerId);
+                recovered.put(playerId, record);
+                if (record == null || !record.hasStatus(ApplicationRecord.STATUS_IN_PROGRESS)) {
+                    return;
+                }
+                // Answers to an application that was cancelled and replaced since
+                if (startTime != record.getStartTime()) {
+                    return;
+                }
+
+                List<String> answers = new ArrayList<>(record.getAnswers());
+                if (index < answers.size()) {
+                    answers.set(index, answer);
+                } else if (index == answers.size()) {
+                    answers.add(answer);
+                }
+                record.setAnswers(answers);
+            });
+
+            int count = 0;
+            for (ApplicationRecord record : recovered.values()) {
+                if (record != null && record.hasStatus(ApplicationRecord.STATUS_IN_PROGRESS)) {
+                    store.save(record);
+                    count++;
+                }
+            }
+            store.flush();
+
+            log.rotate();
+            log.discardRotated();
+            if (count > 0) {
+                plugin.getLogger().info("Recovered unsaved answers for " + count + " application(s).");
+            }
+        } catch (IOException e) {
+            throw new StorageException("Failed to recover answer log", e);
+        }
+    }
+
+    public AnswerSession start(ApplicationRecord record) {
+        AnswerSession session = new AnswerSession(record);
+        sessions.put(record.getPlayerId(), session);
+        return session;
+    }
+
+    public AnswerSession get(UUID playerId) {
+        return sessions.get(playerId);
+    }
+
+    public boolean hasSession(UUID playerId) {
+        return sessions.containsKey(playerId);
+    }
+
+    /**
+     * Records an answer for the player's current question.
+     */
+    public AnswerSession answer(UUID playerId, String answer) {
+        AnswerSession session = sessions.get(playerId);
+        if (session == null) {
+            return null;
+        }
+
+        // Chat typed while the finished application is being submitted
+        int index = session.addAnswer(answer);
+        if (index < 0) {
+            return session;
+        }
+        try {
+            log.append(playerId, session.getStartTime(), index, answer);
+        } catch (IOException e) {
+            plugin.getLogger().warning("Failed to log answer for " + playerId + ": " + e.getMessage());
+        }
+        return session;
+    }
+
+    /**
+     * Ends the player's session, e.g. once it is submitted or cancelled.
+     */
+    public AnswerSession finish(UUID playerId) {
+        return sessions.remove(playerId);
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    /**
+     * Writes every changed session to the application store.
+     */
+    public void checkpoint() {
+        synchronized (checkpointLock) {
+            // Rotate first: anything logged after this is also in the snapshot below or in the new log
+            try {
+                log.rotate();
+            } catch (IOException e) {
+                plugin.getLogger().warning("Failed to rotate answer log: " + e.getMessage());
+                return;
+            }
+
+            ApplicationStore store = plugin.getApplicationStore();
+            Map<AnswerSession, CompletableFuture<Boolean>> writes = new HashMap<>();
+            for (AnswerSession session : sessions.values()) {
+                List<String> answers = session.takeDirtyAnswers();
+                if (answers == null) {
+                    continue;
+                }
+
+                // Serialized with submits and decisions for the same player
+                writes.put(session, plugin.getStripedExecutor().submit(session.getPlayerId(), () -> {
+                    ApplicationRecord record = store.load(session.getPlayerId());
+                    if (record == null || !record.hasStatus(ApplicationRecord.STATUS_IN_PROGRESS)
+                            || record.getStartTime() != session.getStartTime()) {
+                        return false;
+                    }
+                    record.setAnswers(answers);
+                    store.save(record);
+                    return true;
+                }));
+            }
+
+            int saved = 0;
+            boolean failed = false;
+            for (Map.Entry<AnswerSession, CompletableFuture<Boolean>> write : writes.entrySet()) {
+                AnswerSession session = write.getKey();
+                try {
+                    if (write.getValue().join()) {
+                        saved++;
+                    }
+                } catch (CompletionException e) {
+                    plugin.getLogger().warning("Failed to save answers for " + session.getPlayerId() + ": " + e.getCause().getMessage());
+                    session.markDirty();
+                    failed = true;
+                }
+            }
+            store.flush();
+
+            // Keep the rotated log if anything is still waiting to reach disk
+            if (!failed && (!(store instanceof CachedApplicationStore) || ((CachedApplicationStore) store).getDirtyCount() == 0)) {
+                log.discardRotated();
+            }
+
+            if (saved > 0 && plugin.getConfig().getBoolean("settings.debug", false)) {
+                plugin.getLogger().info("Checkpointed " + saved + " application session(s).");
+            }
+        }
+    }
+
+    public void close() {
+        checkpoint();
+        try {
+            log.close();
+        } catch (IOException e) {
+            plugin.getLogger().warning("Failed to close answer log: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package io.github.anonventions.capplications.stats;
+
+import io.github.anonventions.capplications.CApplications;
+import io.github.anonventions.capplications.storage.PlayerHistoryStore;
+import io.github.anonventions.capplications.storage.StatusEntry;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Role x status x day counters for {@code /app stats}, updated on every
+ * status change instead of being recounted from the history files.
+ *
+ * <p>The counters are written to {@code stats.json} on shutdown and the file is
+ * removed once loaded, so a crash can never leave a stale snapshot behind.
+ * Without a usable snapshot the counters are rebuilt from the history store.</p>
+ */
+public class StatsAggregator {
+
+    private final CApplications plugin;
+    private final File snapshotFile;
+    private Counts counts = new Counts();
+
+    public StatsAggregator(CApplications plugin) {
+        this.plugin = plugin;
+        this.snapshotFile = new File(plugin.getDataFolder(), "stats.json");
+    }
+
+    /**
+     * Loads the snapshot, or rebuilds the counters across the given executor if
+     * it is missing or unreadable. Blocks until the counters are ready.
+     */
+    public void load(PlayerHistoryStore historyStore, ExecutorService executor) {
+        Counts loaded = readSnapshot();
+        if (loaded == null) {
+            long start = System.currentTimeMillis();
+            loaded = rebuild(historyStore, executor);
+            plugin.getLogger().info("Rebuilt application statistics in " + (System.currentTimeMillis() - start) + "ms.");
+        }
+
+        synchronized (this) {
+            counts = loaded;
+        }
+    }
+
+    public synchronized void record(StatusEntry entry) {
+        counts.add(entry.getRole(), entry.getStatus(), toDay(entry.getTimestamp()), 1);
+    }
+
+    /**
+     * Reverses {@link #record} for a purged history entry.
+     */
+    public synchronized void remove(StatusEntry entry) {
+        counts.add(entry.getRole(), entry.getStatus(), toDay(entry.getTimestamp()), -1);
+    }
+
+    /**
+     * @param role  the role to count, or {@code null} for every role
+     * @param since the first epoch day to count, or {@link Long#MIN_VALUE} for all time
+     * @return counts keyed by role, then by status
+     */
+    public synchronized Map<String, Map<String, Integer>> query(String role, long since) {
+        Map<String, Map<String, Integer>> result = new HashMap<>();
+        for (Map.Entry<String, Map<String, TreeMap<Long, Integer>>> roleEntry : counts.roles.entrySet()) {
+            if (role != null && !role.equals(roleEntry.getKey())) {
+                continue;
+            }
+
+            for (Map.Entry<String, TreeMap<Long, Integer>> statusEntry : roleEntry.getValue().entrySet()) {
+                int total = 0;
+                for (int count : statusEntry.getValue().tailMap(since, true).values()) {
+                    total += count;
+                }
+                if (total > 0) {
+                    result.computeIfAbsent(roleEntry.getKey(), r -> new HashMap<>()).put(statusEntry.getKey(), total);
+                }
+            }
+        }
+        return result;
+    }
+
+    public void close() {
+        String json;
+        synchronized (this) {
+            json = counts.toJson().toJSONString();
+        }
+
+        File temp = new File(snapshotFile.getPath() + ".tmp");
+        try {
+            Files.write(temp.toPath(), json.getBytes(StandardCharsets.UTF_8));
+            Files.move(temp.toPath(), snapshotFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            plugin.getLogger().warning("Failed to save statistics snapshot: " + e.getMessage());
+        }
+    }
+
+    public static long toDay(long timestamp) {
+        return Instant.ofEpochMilli(timestamp).atZone(ZoneId.systemDefault()).toLocalDate().toEpochDay();
+    }
+
+    private Counts readSnapshot() {
+        if (!snapshotFile.exists()) {
+            return null;
+        }
+
+        try {
+            String content = new String(Files.readAllBytes(snapshotFile.toPath()), StandardCharsets.UTF_8);
+            return Counts.fromJson((JSONObject) new JSONParser().parse(content));
+        } catch (Exception e) {
+            plugin.getLogger().warning("Statistics snapshot is unreadable, rebuilding: " + e.getMessage());
+            return null;
+        } finally {
+            // Only a clean shutdown writes it again
+            if (!snapshotFile.delete()) {
+                plugin.getLogger().warning("Failed to remove statistics snapshot " + snapshotFile.getName());
+            }
+        }
+    }
+
+    private Counts rebuild(PlayerHistoryStore historyStore, ExecutorService executor) {
+        List<UUID> players = new ArrayList<>(historyStore.getPlayers());
+        int parts = Math.max(1, Math.min(players.size(), plugin.getConfig().getInt("advanced.thread_pool_size", 4)));
+        int chunkSize = (players.size() + parts - 1) / Math.max(1, parts);
+
+        List<CompletableFuture<Counts>> futures = new ArrayList<>();
+        for (int from = 0; from < players.size(); from += chunkSize) {
+            List<UUID> chunk = players.subList(from, Math.min(from + chunkSize, players.size()));
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                Counts partial = new Counts();
+                for (UUID playerId : chunk) {
+                    for (StatusEntry entry : historyStore.getHistory(playerId)) {
+                        partial.add(entry.getRole(), entry.getStatus(), toDay(entry.getTimestamp()), 1);
+                    }
+                }
+                return partial;
+            }, executor));
+        }
+
+        Counts merged = new Counts();
+        for (CompletableFuture<Counts> future : futures) {
+            merged.merge(future.join());
+        }
+        return merged;
+    }
+
+    private static final class Counts {
+        private final Map<String, Map<String, TreeMap<Long, Integer>>> roles = new HashMap<>();
+
+        private void add(String role, String status, long day, int amount) {
+            TreeMap<Long, Integer> days = roles.computeIfAbsent(role != null ? role : "unknown", r -> new HashMap<>())
+                    .computeIfAbsent(status != null ? status : "unknown", s -> new TreeMap<>());
+            if (days.merge(day, amount, Integer::sum) <= 0) {
+                days.remove(day);
+            }
+        }
+
+        private void merge(Counts other) {
+            other.roles.forEach((role, statuses) -> statuses.forEach((status, days) ->
+                    days.forEach((day, count) -> add(role, status, day, count))));
+        }
+
+        @SuppressWarnings("unchecked")
+        private JSONObject toJson() {
+            JSONObject json = new JSONObject();
+            roles.forEach((role, statuses) -> {
+                JSONObject roleJson = new JSONObject();
+                statuses.forEach((status, days) -> {
+                    JSONObject dayJson = new JSONObject();
+                    days.forEach((day, count) -> dayJson.put(String.valueOf(day), count));
+                    roleJson.put(status, dayJson);
+                });
+                json.put(role, roleJson);
+            });
+            return json;
+        }
+
+        private static Counts fromJson(JSONObject json) {
+            Counts counts = new Counts();
+            for (Object role : json.keySet()) {
+                JSONObject statuses = (JSONObject) json.get(role);
+                for (Object status : statuses.keySet()) {
+                    JSONObject days = (JSONObject) statuses.get(status);
+                    for (Object day : days.keySet()) {
+                        counts.add((String) role, (String) status, Long.parseLong((String) day),
+                                ((Number) days.get(day)).intValue());
+                    }
+                }
+            }
+            return counts;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package io.github.anonventions.capplications.storage;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Typed view of a single player's application, replacing ad-hoc
+ * {@code FileConfiguration} lookups against {@code applications/<uuid>.yml}.
+ */
+public class ApplicationRecord {
+
+    public static final String STATUS_IN_PROGRESS = "in progress";
+    public static final String STATUS_PENDING = "pending";
+    public static final String STATUS_ACCEPTED = "accepted";
+    public static final String STATUS_DENIED = "denied";
+    public static final String STATUS_EXPIRED = "expired";
+
+    private final UUID playerId;
+    private String playerName;
+    private String role;
+    private String status;
+    private long startTime;
+    private long submissionTime;
+    private List<String> questions;
+    private List<String> answers;
+    private String acceptedBy;
+    private long acceptedTime;
+    private String deniedBy;
+    private String denialReason;
+    private long deniedTime;
+
+    public ApplicationRecord(UUID playerId) {
+        this.playerId = playerId;
+        this.questions = new ArrayList<>();
+        this.answers = new ArrayList<>();
+    }
+
+    public ApplicationRecord(UUID playerId, String playerName, String role, List<String> questions) {
+        this(playerId);
+        this.playerName = playerName;
+        this.role = role;
+        this.status = STATUS_IN_PROGRESS;
+        this.startTime = System.currentTimeMillis();
+        this.questions = new ArrayList<>(questions);
+    }
+
+    public ApplicationRecord copy() {
+        ApplicationRecord copy = new ApplicationRecord(playerId);
+        copy.playerName = playerName;
+        copy.role = role;
+        copy.status = status;
+        copy.startTime = startTime;
+        copy.submissionTime = submissionTime;
+        copy.questions = new ArrayList<>(questions);
+        copy.answers = new ArrayList<>(answers);
+        copy.acceptedBy = acceptedBy;
+        copy.acceptedTime = acceptedTime;
+        copy.deniedBy = deniedBy;
+        copy.denialReason = denialReason;
+        copy.deniedTime = deniedTime;
+        return copy;
+    }
+
+    public static ApplicationRecord fromConfiguration(UUID playerId, ConfigurationSection config) {
+        ApplicationRecord record = new ApplicationRecord(playerId);
+        record.playerName = config.getString("playerName");
+        record.role = config.getString("role");
+        record.status = config.getString("status");
+        record.startTime = config.getLong("startTime", 0);
+        record.submissionTime = config.getLong("submissionTime", 0);
+        record.questions = new ArrayList<>(config.getStringList("questions"));
+        record.answers = new ArrayList<>(config.getStringList("answers"));
+        record.acceptedBy = config.getString("acceptedBy");
+        record.acceptedTime = config.getLong("acceptedTime", 0);
+        record.deniedBy = config.getString("deniedBy");
+        record.denialReason = config.getString("denialReason");
+        record.deniedTime = config.getLong("deniedTime", 0);
+        return record;
+    }
+
+    public void writeTo(ConfigurationSection config) {
+        config.set("playerName", playerName);
+        config.set("role", role);
+        config.set("status", status);
+        config.set("startTime", startTime);
+        config.set("questions", questions);
+        config.set("answers", answers);
+        if (submissionTime > 0) config.set("submissionTime", submissionTime);
+        if (acceptedBy != null) config.set("acceptedBy", acceptedBy);
+        if (acceptedTime > 0) config.set("acceptedTime", acceptedTime);
+        if (deniedBy != null) config.set("deniedBy", deniedBy);
+        if (denialReason != null) config.set("denialReason", denialReason);
+        if (deniedTime > 0) config.set("deniedTime", deniedTime);
+    }
+
+    public boolean hasStatus(String expected) {
+        return expected.equals(status);
+    }
+
+    public void accept(String handler) {
+        this.status = STATUS_ACCEPTED;
+        setAccepted(handler, System.currentTimeMillis());
+    }
+
+    public void deny(String handler, String reason) {
+        this.status = STATUS_DENIED;
+        setDenied(handler, reason, System.currentTimeMillis());
+    }
+
+    public void submit() {
+        this.status = STATUS_PENDING;
+        this.submissionTime = System.currentTimeMillis();
+    }
+
+    // Getters and setters
+    public UUID getPlayerId() {
+        return playerId;
+    }
+
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    public void setPlayerName(String playerName) {
+        this.playerName = playerName;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public void setRole(String role) {
+        this.role = role;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public long getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(long startTime) {
+        this.startTime = startTime;
+    }
+
+    public long getSubmissionTime() {
+        return submissionTime;
+    }
+
+    public void setSubmissionTime(long submissionTime) {
+        this.submissionTime = submissionTime;
+    }
+
+    public List<String> getQuestions() {
+        return questions;
+    }
+
+    public void setQuestions(List<String> questions) {
+        this.questions = new ArrayList<>(questions);
+    }
+
+    public List<String> getAnswers() {
+        return answers;
+    }
+
+    public void setAnswers(List<String> answers) {
+        this.answers = new ArrayList<>(answers);
+    }
+
+    public String getAcceptedBy() {
+        return acceptedBy;
+    }
+
+    public long getAcceptedTime() {
+        return acceptedTime;
+    }
+
+    public String getDeniedBy() {
+        return deniedBy;
+    }
+
+    public String getDenialReason() {
+        return denialReason;
+    }
+
+    public long getDeniedTime() {
+        return deniedTime;
+    }
+
+    public void setAccepted(String acceptedBy, long acceptedTime) {
+        this.acceptedBy = acceptedBy;
+        this.acceptedTime = acceptedTime;
+    }
+
+    public void setDenied(String deniedBy, String denialReason, long deniedTime) {
+        this.deniedBy = deniedBy;
+        this.denialReason = denialReason;
+        this.deniedTime = deniedTime;
+    }
+}
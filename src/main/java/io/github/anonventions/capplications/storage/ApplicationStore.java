@@ -0,0 +1,50 @@
+package io.github.anonventions.capplications.storage;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Storage abstraction for player applications. Implementations may be
+ * layered, e.g. {@link CachedApplicationStore} in front of {@link YamlApplicationStore}.
+ */
+public interface ApplicationStore {
+
+    /**
+     * @return the player's application, or {@code null} if they have none
+     */
+    ApplicationRecord load(UUID playerId);
+
+    void save(ApplicationRecord record);
+
+    /**
+     * Saves several records, committing them together where the backend allows.
+     */
+    default void saveAll(Collection<ApplicationRecord> records) {
+        for (ApplicationRecord record : records) {
+            save(record);
+        }
+    }
+
+    void delete(UUID playerId);
+
+    Collection<ApplicationRecord> findAll();
+
+    Collection<ApplicationRecord> findByStatus(String status);
+
+    /**
+     * Forgets what is kept in memory for the player, e.g. when they quit.
+     * Unwritten changes are kept.
+     */
+    default void evict(UUID playerId) {
+    }
+
+    /**
+     * Writes any buffered changes to the underlying medium.
+     */
+    void flush();
+
+    /**
+     * Flushes and releases resources. Called from {@code onDisable}.
+     */
+    void close();
+}
@@ -0,0 +1,223 @@
+package io.github.anonventions.capplications.storage;
+
+import io.github.anonventions.capplications.CApplications;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps typed application records in memory and writes changes behind.
+ * Repeated saves or deletes of the same player between two flushes are
+ * merged so only the latest state is written to the backing store.
+ *
+ * <p>Entries are dropped when their player quits, after
+ * {@code advanced.cache_timeout} minutes unused, and least recently used
+ * first beyond {@code advanced.application_cache_size}. Entries with
+ * unflushed changes are never dropped.</p>
+ */
+public class CachedApplicationStore implements ApplicationStore {
+
+    private final CApplications plugin;
+    private final ApplicationStore backing;
+    private final int maxEntries;
+    private final long idleNanos;
+    private final Map<UUID, CacheEntry> cache = new ConcurrentHashMap<>();
+    private final Map<UUID, CacheEntry> dirty = new ConcurrentHashMap<>();
+    private final Object flushLock = new Object();
+
+    public CachedApplicationStore(CApplications plugin, ApplicationStore backing) {
+        this.plugin = plugin;
+        this.backing = backing;
+        this.maxEntries = Math.max(16, plugin.getConfig().getInt("advanced.application_cache_size", 2000));
+        this.idleNanos = TimeUnit.MINUTES.toNanos(Math.max(1, plugin.getConfig().getLong("advanced.cache_timeout", 30)));
+    }
+
+    @Override
+    public ApplicationRecord load(UUID playerId) {
+        // Players without an application are cached too, so misses don't hit the disk again
+        CacheEntry entry = cache.computeIfAbsent(playerId, id -> new CacheEntry(backing.load(id)));
+        entry.touch();
+        return entry.record;
+    }
+
+    @Override
+    public void save(ApplicationRecord record) {
+        // Marked dirty first so a concurrent evict() can't drop the new entry;
+        // the snapshot keeps later in-memory edits from racing the flusher
+        dirty.put(record.getPlayerId(), new CacheEntry(record.copy()));
+        cache.put(record.getPlayerId(), new CacheEntry(record));
+    }
+
+    @Override
+    public void delete(UUID playerId) {
+        dirty.put(playerId, new CacheEntry(null));
+        cache.put(playerId, new CacheEntry(null));
+    }
+
+    @Override
+    public void evict(UUID playerId) {
+        cache.computeIfPresent(playerId, (id, entry) -> dirty.containsKey(id) ? entry : null);
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    @Override
+    public Collection<ApplicationRecord> findAll() {
+        return overlay(backing.findAll(), null);
+    }
+
+    @Override
+    public Collection<ApplicationRecord> findByStatus(String status) {
+        return overlay(backing.findByStatus(status), status);
+    }
+
+    /**
+     * Merges records read from the backing store with unflushed changes so
+     * callers always see the cached view.
+     */
+    private Collection<ApplicationRecord> overlay(Collection<ApplicationRecord> stored, String status) {
+        Map<UUID, ApplicationRecord> result = new LinkedHashMap<>();
+
+        // Not cached, so listing every application doesn't pull them all into memory
+        for (ApplicationRecord record : stored) {
+            CacheEntry entry = cache.get(record.getPlayerId());
+            ApplicationRecord current = entry != null ? entry.record : record;
+            if (current != null && (status == null || current.hasStatus(status))) {
+                result.put(record.getPlayerId(), current);
+            }
+        }
+
+        for (UUID playerId : dirty.keySet()) {
+            CacheEntry entry = cache.get(playerId);
+            if (entry != null && entry.record != null && (status == null || entry.record.hasStatus(status))) {
+                result.putIfAbsent(playerId, entry.record);
+            }
+        }
+
+        return result.values();
+    }
+
+    @Override
+    public void flush() {
+        synchronized (flushLock) {
+            int written = 0;
+            Map<UUID, CacheEntry> saves = new LinkedHashMap<>();
+            // Changes stay marked dirty until written, and are only cleared if nothing newer replaced them
+            for (Map.Entry<UUID, CacheEntry> change : dirty.entrySet()) {
+                UUID playerId = change.getKey();
+                CacheEntry pending = change.getValue();
+                if (pending.record != null) {
+                    saves.put(playerId, pending);
+                    continue;
+                }
+
+                try {
+                    backing.delete(playerId);
+                    dirty.remove(playerId, pending);
+                    written++;
+                } catch (RuntimeException e) {
+                    plugin.getLogger().warning("Failed to flush application for " + playerId + ": " + e.getMessage());
+                }
+            }
+
+            if (!saves.isEmpty()) {
+                // Saved together so the backing store can commit them at once
+                List<ApplicationRecord> records = new ArrayList<>(saves.size());
+                for (CacheEntry pending : saves.values()) {
+                    records.add(pending.record);
+                }
+
+                try {
+                    backing.saveAll(records);
+                    saves.forEach(dirty::remove);
+                    written += records.size();
+                } catch (RuntimeException e) {
+                    plugin.getLogger().warning("Failed to flush " + records.size() + " application(s): " + e.getMessage());
+                }
+            }
+
+            if (written > 0 && plugin.getConfig().getBoolean("settings.debug", false)) {
+                plugin.getLogger().info("Flushed " + written + " application change(s) to disk.");
+            }
+        }
+        trim();
+    }
+
+    /**
+     * Drops clean entries that have gone unused too long, then the least
+     * recently used ones while the cache is over its size.
+     */
+    private void trim() {
+        long now = System.nanoTime();
+        List<Candidate> candidates = new ArrayList<>();
+        for (Map.Entry<UUID, CacheEntry> cached : cache.entrySet()) {
+            if (!dirty.containsKey(cached.getKey())) {
+                candidates.add(new Candidate(cached.getKey(), cached.getValue()));
+            }
+        }
+        candidates.sort(Comparator.comparingLong(candidate -> candidate.lastUsed));
+
+        int excess = cache.size() - maxEntries;
+        for (Candidate candidate : candidates) {
+            if (excess <= 0 && now - candidate.lastUsed < idleNanos) {
+                break;
+            }
+            boolean[] removed = new boolean[1];
+            cache.computeIfPresent(candidate.playerId, (id, entry) -> {
+                if (entry != candidate.entry || dirty.containsKey(id)) {
+                    return entry;
+                }
+                removed[0] = true;
+                return null;
+            });
+            if (removed[0]) {
+                excess--;
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        flush();
+        backing.close();
+    }
+
+    public int getDirtyCount() {
+        return dirty.size();
+    }
+
+    private static final class CacheEntry {
+        private final ApplicationRecord record;
+        private volatile long lastUsed = System.nanoTime();
+
+        private CacheEntry(ApplicationRecord record) {
+            this.record = record;
+        }
+
+        private void touch() {
+            lastUsed = System.nanoTime();
+        }
+    }
+
+    private static final class Candidate {
+        private final UUID playerId;
+        private final CacheEntry entry;
+        // Copied so the sort order can't change while sorting
+        private final long lastUsed;
+
+        private Candidate(UUID playerId, CacheEntry entry) {
+            this.playerId = playerId;
+            this.entry = entry;
+            this.lastUsed = entry.lastUsed;
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package io.github.anonventions.capplications.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Replaces files atomically: the new content goes to a temp file, is synced,
+ * and is then renamed over the old file, so a crash or full disk leaves
+ * either the old or the new version, never a truncated one.
+ *
+ * <p>Writes are group-committed. Files staged while another commit is
+ * running, or within {@code lingerMillis} of each other, are committed
+ * together: each file's data is still synced on its own before its rename,
+ * but the renames share one sync per directory.</p>
+ */
+public class DurableFileWriter {
+
+    private final Logger logger;
+    private final long lingerNanos;
+
+    private final Object commitLock = new Object();
+    private final List<Pending> staged = new ArrayList<>();
+    private final AtomicInteger staging = new AtomicInteger();
+    private final AtomicLong nextTemp = new AtomicLong();
+
+    private final AtomicLong files = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+    private final AtomicLong commits = new AtomicLong();
+    private final AtomicLong totalLatency = new AtomicLong();
+    private final AtomicLong maxLatency = new AtomicLong();
+
+    public DurableFileWriter(Logger logger, long lingerMillis) {
+        this.logger = logger;
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, lingerMillis));
+    }
+
+    /**
+     * Durably replaces {@code target} with {@code data}, returning once it is on disk.
+     */
+    public void write(File target, byte[] data) throws IOException {
+        Map<File, byte[]> single = new LinkedHashMap<>(1);
+        single.put(target, data);
+        writeAll(single);
+    }
+
+    /**
+     * Durably replaces every file, sharing one commit, and so one directory sync, between them.
+     */
+    public void writeAll(Map<File, byte[]> contents) throws IOException {
+        List<Pending> mine = new ArrayList<>(contents.size());
+        try {
+            for (Map.Entry<File, byte[]> content : contents.entrySet()) {
+                mine.add(stage(content.getKey(), content.getValue()));
+            }
+        } catch (IOException e) {
+            synchronized (staged) {
+                staged.removeAll(mine);
+            }
+            for (Pending pending : mine) {
+                pending.abandon();
+            }
+            throw e;
+        }
+
+        for (Pending pending : mine) {
+            await(pending);
+        }
+    }
+
+    /**
+     * Moves an unreadable file aside so it is kept for inspection instead of
+     * being read as empty or overwritten.
+     *
+     * @return the quarantined file, or {@code null} if it couldn't be moved
+     */
+    public File quarantine(File file) {
+        File corrupt = new File(file.getParentFile(), file.getName() + ".corrupt-" + System.currentTimeMillis());
+        try {
+            Files.move(file.toPath(), corrupt.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            logger.severe("Moved unreadable " + file.getName() + " to " + corrupt.getName());
+            return corrupt;
+        } catch (IOException e) {
+            logger.severe("Failed to quarantine unreadable " + file.getName() + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    public List<String> describeMetrics() {
+        long written = files.get();
+        double averageLatency = written == 0 ? 0 : totalLatency.get() / (double) written / 1_000_000;
+        return Arrays.asList(
+                "Durable writes: " + written + " file(s), " + bytes.get() + " bytes in " + commits.get() + " commit(s)",
+                String.format("Durable write latency: avg %.2fms, max %.2fms", averageLatency, maxLatency.get() / 1_000_000.0));
+    }
+
+    private Pending stage(File target, byte[] data) throws IOException {
+        // Unique per write, so concurrent writes to one file can't interleave in the same temp file
+        File temp = new File(target.getParentFile(), target.getName() + "." + nextTemp.incrementAndGet() + ".tmp");
+        staging.incrementAndGet();
+        Pending pending = null;
+        try {
+            pending = new Pending(target, temp, data.length, FileChannel.open(temp.toPath(),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING));
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            while (buffer.hasRemaining()) {
+                pending.channel.write(buffer);
+            }
+        } catch (IOException | RuntimeException e) {
+            if (pending != null) {
+                pending.abandon();
+                pending = null;
+            }
+            throw e;
+        } finally {
+            // Counted down before waking a waiting commit, or it would sit out the whole linger
+            synchronized (staged) {
+                if (pending != null) {
+                    staged.add(pending);
+                }
+                staging.decrementAndGet();
+                staged.notifyAll();
+            }
+        }
+        return pending;
+    }
+
+    private void await(Pending pending) throws IOException {
+        synchronized (commitLock) {
+            if (!pending.committed) {
+                commit(collect());
+            }
+        }
+        if (pending.error != null) {
+            throw pending.error;
+        }
+    }
+
+    private List<Pending> collect() {
+        synchronized (staged) {
+            // Give writers that are still staging a moment to join this commit
+            long deadline = System.nanoTime() + lingerNanos;
+            long remaining = lingerNanos;
+            while (staging.get() > 0 && remaining > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(staged, remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                remaining = deadline - System.nanoTime();
+            }
+
+            List<Pending> batch = new ArrayList<>(staged);
+            staged.clear();
+            return batch;
+        }
+    }
+
+    private void commit(List<Pending> batch) {
+        Set<File> directories = new LinkedHashSet<>();
+        for (Pending pending : batch) {
+            try {
+                pending.channel.force(true);
+                pending.channel.close();
+                Files.move(pending.temp.toPath(), pending.target.toPath(),
+                        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                directories.add(pending.target.getAbsoluteFile().getParentFile());
+            } catch (IOException e) {
+                pending.error = e;
+                pending.abandon();
+            }
+        }
+
+        // Makes the renames themselves durable
+        for (File directory : directories) {
+            try (FileChannel channel = FileChannel.open(directory.toPath(), StandardOpenOption.READ)) {
+                channel.force(true);
+            } catch (IOException e) {
+                // Not supported on every platform; the renames are still atomic
+            }
+        }
+
+        long now = System.nanoTime();
+        commits.incrementAndGet();
+        for (Pending pending : batch) {
+            pending.committed = true;
+            if (pending.error == null) {
+                long latency = now - pending.stagedAt;
+                files.incrementAndGet();
+                bytes.addAndGet(pending.size);
+                totalLatency.addAndGet(latency);
+                maxLatency.accumulateAndGet(latency, Math::max);
+            }
+        }
+    }
+
+    private static final class Pending {
+        private final File target;
+        private final File temp;
+        private final long size;
+        private final FileChannel channel;
+        private final long stagedAt = System.nanoTime();
+        private volatile boolean committed;
+        private volatile IOException error;
+
+        private Pending(File target, File temp, long size, FileChannel channel) {
+            this.target = target;
+            this.temp = temp;
+            this.size = size;
+            this.channel = channel;
+        }
+
+        private void abandon() {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+            }
+            temp.delete();
+        }
+    }
+}
@@ -0,0 +1,358 @@
+package io.github.anonventions.capplications.storage;
+
+import io.github.anonventions.capplications.CApplications;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * File-based history store. New status events are appended to a
+ * {@link StatusJournal} so each write costs the same regardless of history
+ * length; compaction periodically folds them into the per-player
+ * {@code playerdata/<uuid>.json} files, which remain the compacted view.
+ */
+public class JournalPlayerHistoryStore implements PlayerHistoryStore {
+
+    private static final int LOCK_STRIPES = 64;
+    private static final int VIEW_CACHE_SIZE = 1024;
+    private static final String PURGED_SEQ = "purged_seq";
+
+    private final CApplications plugin;
+    private final File folder;
+    private final StatusJournal journal;
+
+    // Journal entries not yet folded into the player's JSON file
+    private final Map<UUID, List<StatusJournal.Entry>> uncompacted = new ConcurrentHashMap<>();
+    private final Object[] locks = new Object[LOCK_STRIPES];
+    private final Object compactionLock = new Object();
+
+    // Recently read compacted views
+    private final Map<UUID, Compacted> viewCache =
+            new LinkedHashMap<UUID, Compacted>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<UUID, Compacted> eldest) {
+                    return size() > VIEW_CACHE_SIZE;
+                }
+            };
+
+    // Whether the compaction before the current purge deleted every segment it folded in
+    private volatile boolean journalCompacted;
+
+    public JournalPlayerHistoryStore(CApplications plugin, long maxSegmentBytes) {
+        this.plugin = plugin;
+        this.folder = new File(plugin.getDataFolder(), "playerdata");
+        this.journal = new StatusJournal(new File(folder, "journal"), maxSegmentBytes, plugin.getLogger());
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+
+        try {
+            journal.open(entry -> uncompacted.computeIfAbsent(entry.getPlayerId(), id -> new ArrayList<>()).add(entry));
+        } catch (IOException e) {
+            throw new StorageException("Failed to open status journal", e);
+        }
+    }
+
+    @Override
+    public List<StatusEntry> getHistory(UUID playerId) {
+        synchronized (lockFor(playerId)) {
+            List<StatusEntry> history = new ArrayList<>();
+            Compacted compacted = readCompacted(playerId);
+            long compactedSeq = 0;
+            if (compacted != null) {
+                for (StatusJournal.Entry entry : compacted.entries) {
+                    history.add(entry.getStatus());
+                }
+                compactedSeq = compacted.seq;
+            }
+
+            // Skip entries already folded in by a compaction that crashed before deleting its segments
+            for (StatusJournal.Entry entry : uncompacted.getOrDefault(playerId, Collections.emptyList())) {
+                if (entry.getSeq() > compactedSeq) {
+                    history.add(entry.getStatus());
+                }
+            }
+            return history;
+        }
+    }
+
+    @Override
+    public void append(UUID playerId, StatusEntry entry) {
+        synchronized (lockFor(playerId)) {
+            try {
+                long seq = journal.append(playerId, entry);
+                uncompacted.computeIfAbsent(playerId, id -> new ArrayList<>())
+                        .add(new StatusJournal.Entry(seq, playerId, entry));
+            } catch (IOException e) {
+                throw new StorageException("Failed to append status for " + playerId, e);
+            }
+        }
+    }
+
+    @Override
+    public Collection<UUID> getPlayers() {
+        Set<UUID> players = new LinkedHashSet<>();
+        File[] files = folder.listFiles((dir, name) -> name.endsWith(".json"));
+        if (files != null) {
+            for (File file : files) {
+                try {
+                    players.add(UUID.fromString(file.getName().replace(".json", "")));
+                } catch (IllegalArgumentException ignored) {
+                }
+            }
+        }
+        players.addAll(uncompacted.keySet());
+        return players;
+    }
+
+    @Override
+    public void beginPurge() {
+        // Fold the journal in first so purged entries can't be replayed back later
+        journalCompacted = compact();
+    }
+
+    @Override
+    public PurgeResult purge(UUID playerId, long cutoff, boolean dryRun) {
+        synchronized (lockFor(playerId)) {
+            Compacted stored = readCompacted(playerId);
+            if (stored == null) {
+                return PurgeResult.NONE;
+            }
+
+            List<StatusJournal.Entry> kept = new ArrayList<>();
+            List<StatusEntry> removed = new ArrayList<>();
+            for (StatusJournal.Entry entry : stored.entries) {
+                if (entry.getStatus().getTimestamp() < cutoff) {
+                    removed.add(entry.getStatus());
+                } else {
+                    kept.add(entry);
+                }
+            }
+
+            boolean emptied = kept.isEmpty() && !uncompacted.containsKey(playerId);
+            // Segments a failed compaction kept would replay the purged entries, unless the file remembers their seq
+            boolean delete = emptied && (dryRun || journalCompacted);
+            if (removed.isEmpty()) {
+                // A tombstone left by an earlier purge is no longer needed once its segments are gone
+                if (delete && !dryRun && getFile(playerId).exists()) {
+                    deleteCompacted(playerId);
+                }
+                return PurgeResult.NONE;
+            }
+
+            long before = getFile(playerId).length();
+            long after = delete ? 0 : encode(kept, stored.seq).length;
+
+            if (!dryRun) {
+                if (delete) {
+                    deleteCompacted(playerId);
+                } else if (!writeCompacted(playerId, kept, stored.seq)) {
+                    throw new StorageException("Failed to rewrite history for " + playerId, null);
+                }
+            }
+            return new PurgeResult(removed, Math.max(0, before - after), emptied);
+        }
+    }
+
+    /**
+     * Folds every closed journal segment into the per-player JSON files and
+     * deletes the segments afterwards.
+     *
+     * @return {@code false} if any segment had to be kept
+     */
+    public boolean compact() {
+        synchronized (compactionLock) {
+            long upToSeq;
+            try {
+                upToSeq = journal.roll();
+            } catch (IOException e) {
+                plugin.getLogger().warning("Failed to roll status journal: " + e.getMessage());
+                return false;
+            }
+
+            int compactedPlayers = 0;
+            boolean complete = true;
+            for (UUID playerId : new ArrayList<>(uncompacted.keySet())) {
+                synchronized (lockFor(playerId)) {
+                    List<StatusJournal.Entry> pending = uncompacted.get(playerId);
+                    Compacted stored = pending != null ? readCompacted(playerId) : null;
+                    if (stored == null) {
+                        // Never overwrite a file we could not read
+                        complete &= pending == null;
+                        continue;
+                    }
+
+                    List<StatusJournal.Entry> merged = new ArrayList<>(stored.entries);
+                    long compactedSeq = stored.seq;
+                    List<StatusJournal.Entry> remaining = new ArrayList<>();
+                    for (StatusJournal.Entry entry : pending) {
+                        if (entry.getSeq() > upToSeq) {
+                            remaining.add(entry);
+                        } else if (entry.getSeq() > compactedSeq) {
+                            merged.add(entry);
+                        }
+                    }
+
+                    if (!writeCompacted(playerId, merged, compactedSeq)) {
+                        // Keep the journal entries so nothing is lost
+                        complete = false;
+                        continue;
+                    }
+
+                    if (remaining.isEmpty()) {
+                        uncompacted.remove(playerId);
+                    } else {
+                        uncompacted.put(playerId, remaining);
+                    }
+                    compactedPlayers++;
+                }
+            }
+
+            if (complete) {
+                complete = journal.deleteSegmentsUpTo(upToSeq);
+            }
+
+            if (compactedPlayers > 0 && plugin.getConfig().getBoolean("settings.debug", false)) {
+                plugin.getLogger().info("Compacted status journal for " + compactedPlayers + " player(s).");
+            }
+            return complete;
+        }
+    }
+
+    @Override
+    public void close() {
+        compact();
+        try {
+            journal.close();
+        } catch (IOException e) {
+            plugin.getLogger().warning("Failed to close status journal: " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return the player's compacted entries, or {@code null} if the file is unreadable
+     */
+    private Compacted readCompacted(UUID playerId) {
+        synchronized (viewCache) {
+            Compacted cached = viewCache.get(playerId);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        List<StatusJournal.Entry> entries = new ArrayList<>();
+        long purgedSeq = 0;
+        File file = getFile(playerId);
+        if (file.exists()) {
+            try {
+                String content = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+                for (Object obj : (JSONArray) new JSONParser().parse(content)) {
+                    JSONObject json = (JSONObject) obj;
+                    Object purged = json.get(PURGED_SEQ);
+                    if (purged instanceof Number) {
+                        purgedSeq = Math.max(purgedSeq, ((Number) purged).longValue());
+                        continue;
+                    }
+
+                    Object seq = json.get("seq");
+                    entries.add(new StatusJournal.Entry(seq instanceof Number ? ((Number) seq).longValue() : 0L,
+                            playerId, StatusEntry.fromJson(json)));
+                }
+            } catch (Exception e) {
+                plugin.getLogger().warning("Failed to load player status for " + playerId + ": " + e.getMessage());
+                return null;
+            }
+        }
+
+        Compacted view = new Compacted(entries, purgedSeq);
+        synchronized (viewCache) {
+            viewCache.put(playerId, view);
+        }
+        return view;
+    }
+
+    /**
+     * @param compactedSeq the highest journal seq folded into the file, kept
+     *                     even if the entry that had it was purged since
+     */
+    private boolean writeCompacted(UUID playerId, List<StatusJournal.Entry> entries, long compactedSeq) {
+        try {
+            plugin.getFileWriter().write(getFile(playerId), encode(entries, compactedSeq));
+        } catch (IOException e) {
+            plugin.getLogger().severe("Failed to save player status for " + playerId + ": " + e.getMessage());
+            return false;
+        }
+
+        Compacted view = new Compacted(entries, compactedSeq);
+        synchronized (viewCache) {
+            viewCache.put(playerId, view);
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static byte[] encode(List<StatusJournal.Entry> entries, long compactedSeq) {
+        JSONArray statuses = new JSONArray();
+        long highestSeq = 0;
+        for (StatusJournal.Entry entry : entries) {
+            JSONObject json = entry.getStatus().toJson();
+            if (entry.getSeq() > 0) {
+                json.put("seq", entry.getSeq());
+            }
+            statuses.add(json);
+            highestSeq = Math.max(highestSeq, entry.getSeq());
+        }
+
+        // Tombstone for purged entries whose journal segments may still exist
+        if (compactedSeq > highestSeq) {
+            JSONObject tombstone = new JSONObject();
+            tombstone.put(PURGED_SEQ, compactedSeq);
+            statuses.add(tombstone);
+        }
+        return statuses.toJSONString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void deleteCompacted(UUID playerId) {
+        getFile(playerId).delete();
+        synchronized (viewCache) {
+            viewCache.put(playerId, new Compacted(Collections.<StatusJournal.Entry>emptyList(), 0));
+        }
+    }
+
+    private Object lockFor(UUID playerId) {
+        return locks[(playerId.hashCode() & 0x7fffffff) % LOCK_STRIPES];
+    }
+
+    private File getFile(UUID playerId) {
+        return new File(folder, playerId.toString() + ".json");
+    }
+
+    private static final class Compacted {
+        private final List<StatusJournal.Entry> entries;
+        private final long seq;
+
+        private Compacted(List<StatusJournal.Entry> entries, long purgedSeq) {
+            this.entries = Collections.unmodifiableList(new ArrayList<>(entries));
+            long highestSeq = purgedSeq;
+            for (StatusJournal.Entry entry : entries) {
+                highestSeq = Math.max(highestSeq, entry.getSeq());
+            }
+            this.seq = highestSeq;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package io.github.anonventions.capplications.storage;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Storage for each player's application status history and the action log.
+ */
+public interface PlayerHistoryStore {
+
+    List<StatusEntry> getHistory(UUID playerId);
+
+    void append(UUID playerId, StatusEntry entry);
+
+    Collection<UUID> getPlayers();
+
+    /**
+     * Called once before a purge so pending writes can be folded in first.
+     */
+    default void beginPurge() {
+    }
+
+    /**
+     * Removes the player's history entries older than the cutoff, or only
+     * reports what would be removed when {@code dryRun} is set.
+     */
+    PurgeResult purge(UUID playerId, long cutoff, boolean dryRun);
+
+    /**
+     * Records an audit action. File storage keeps these in {@code logs/actions.log} instead.
+     */
+    default void recordAction(long timestamp, String performer, String action, UUID targetId, String role) {
+    }
+
+    void close();
+}
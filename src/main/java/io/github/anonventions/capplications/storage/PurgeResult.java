@@ -0,0 +1,40 @@
+package io.github.anonventions.capplications.storage;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of purging one player's history.
+ */
+public class PurgeResult {
+
+    public static final PurgeResult NONE = new PurgeResult(Collections.<StatusEntry>emptyList(), 0, false);
+
+    private final List<StatusEntry> removed;
+    private final long bytesReclaimed;
+    private final boolean emptied;
+
+    public PurgeResult(List<StatusEntry> removed, long bytesReclaimed, boolean emptied) {
+        this.removed = removed;
+        this.bytesReclaimed = bytesReclaimed;
+        this.emptied = emptied;
+    }
+
+    public List<StatusEntry> getRemoved() {
+        return removed;
+    }
+
+    /**
+     * @return bytes freed on disk; an estimate for database storage
+     */
+    public long getBytesReclaimed() {
+        return bytesReclaimed;
+    }
+
+    /**
+     * @return whether the player has no history left
+     */
+    public boolean isEmptied() {
+        return emptied;
+    }
+}
@@ -0,0 +1,106 @@
+package io.github.anonventions.capplications.storage;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Small fixed-size pool of SQLite connections. Uses the JDBC driver bundled
+ * with the server, so no extra dependency needs to be shaded.
+ */
+public class SqliteConnectionPool implements AutoCloseable {
+
+    private static final long BORROW_TIMEOUT_SECONDS = 10;
+
+    private final String url;
+    private final BlockingQueue<Connection> idle;
+    private volatile boolean closed;
+
+    public SqliteConnectionPool(File databaseFile, int size) throws SQLException {
+        try {
+            Class.forName("org.sqlite.JDBC");
+        } catch (ClassNotFoundException e) {
+            throw new SQLException("SQLite JDBC driver not found", e);
+        }
+
+        this.url = "jdbc:sqlite:" + databaseFile.getAbsolutePath();
+        this.idle = new ArrayBlockingQueue<>(size);
+        for (int i = 0; i < size; i++) {
+            idle.add(open());
+        }
+    }
+
+    public Connection borrow() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+
+        Connection connection;
+        try {
+            connection = idle.poll(BORROW_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection", e);
+        }
+
+        if (connection == null) {
+            throw new SQLException("Timed out waiting for a database connection");
+        }
+
+        if (connection.isClosed()) {
+            connection = open();
+        }
+        return connection;
+    }
+
+    public void release(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+
+        try {
+            if (closed) {
+                connection.close();
+                return;
+            }
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+            idle.offer(connection);
+        } catch (SQLException e) {
+            // Drop the broken connection and replace it
+            try {
+                idle.offer(open());
+            } catch (SQLException ignored) {
+            }
+        }
+    }
+
+    private Connection open() throws SQLException {
+        Connection connection = DriverManager.getConnection(url);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("PRAGMA journal_mode=WAL");
+            statement.execute("PRAGMA synchronous=NORMAL");
+            statement.execute("PRAGMA busy_timeout=5000");
+        }
+        return connection;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        Connection connection;
+        while ((connection = idle.poll()) != null) {
+            try {
+                connection.close();
+            } catch (SQLException ignored) {
+            }
+        }
+    }
+}
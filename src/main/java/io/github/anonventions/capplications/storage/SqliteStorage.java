@@ -0,0 +1,413 @@
+package io.github.anonventions.capplications.storage;
+
+import io.github.anonventions.capplications.CApplications;
+import org.json.simple.JSONArray;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Embedded SQLite backend holding applications, status history and the action
+ * log in indexed tables, so statistics, purges and the review list are single
+ * queries instead of directory scans.
+ */
+public class SqliteStorage implements ApplicationStore, PlayerHistoryStore {
+
+    private static final String[] SCHEMA = {
+            "CREATE TABLE IF NOT EXISTS applications ("
+                    + "player_uuid CHAR(36) PRIMARY KEY, "
+                    + "player_name VARCHAR(16), "
+                    + "role VARCHAR(64) NOT NULL, "
+                    + "status VARCHAR(16) NOT NULL, "
+                    + "start_time BIGINT NOT NULL DEFAULT 0, "
+                    + "submission_time BIGINT NOT NULL DEFAULT 0, "
+                    + "questions TEXT, "
+                    + "answers TEXT, "
+                    + "accepted_by VARCHAR(64), "
+                    + "accepted_time BIGINT NOT NULL DEFAULT 0, "
+                    + "denied_by VARCHAR(64), "
+                    + "denial_reason TEXT, "
+                    + "denied_time BIGINT NOT NULL DEFAULT 0)",
+            "CREATE INDEX IF NOT EXISTS idx_applications_status ON applications (status, submission_time)",
+            "CREATE INDEX IF NOT EXISTS idx_applications_role ON applications (role)",
+            "CREATE INDEX IF NOT EXISTS idx_applications_submission ON applications (submission_time)",
+            "CREATE TABLE IF NOT EXISTS status_history ("
+                    + "id INTEGER PRIMARY KEY AUTOINCREMENT, "
+                    + "player_uuid CHAR(36) NOT NULL, "
+                    + "role VARCHAR(64) NOT NULL, "
+                    + "status VARCHAR(16) NOT NULL, "
+                    + "timestamp BIGINT NOT NULL, "
+                    + "reason TEXT, "
+                    + "handler VARCHAR(64))",
+            "CREATE INDEX IF NOT EXISTS idx_history_player ON status_history (player_uuid, timestamp)",
+            "CREATE INDEX IF NOT EXISTS idx_history_timestamp ON status_history (timestamp)",
+            "CREATE TABLE IF NOT EXISTS actions ("
+                    + "id INTEGER PRIMARY KEY AUTOINCREMENT, "
+                    + "timestamp BIGINT NOT NULL, "
+                    + "performer VARCHAR(64), "
+                    + "action VARCHAR(16) NOT NULL, "
+                    + "target_uuid CHAR(36), "
+                    + "role VARCHAR(64))",
+            "CREATE INDEX IF NOT EXISTS idx_actions_target ON actions (target_uuid)",
+            "CREATE INDEX IF NOT EXISTS idx_actions_timestamp ON actions (timestamp)"
+    };
+
+    private static final String APPLICATION_COLUMNS = "player_uuid, player_name, role, status, start_time, "
+            + "submission_time, questions, answers, accepted_by, accepted_time, denied_by, denial_reason, denied_time";
+    private static final String SAVE_APPLICATION = "INSERT OR REPLACE INTO applications (" + APPLICATION_COLUMNS + ") "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final CApplications plugin;
+    private final SqliteConnectionPool pool;
+    private volatile boolean closed;
+
+    public SqliteStorage(CApplications plugin, File databaseFile, int poolSize) {
+        this.plugin = plugin;
+        try {
+            this.pool = new SqliteConnectionPool(databaseFile, poolSize);
+        } catch (SQLException e) {
+            throw new StorageException("Failed to open " + databaseFile.getName(), e);
+        }
+        createSchema();
+    }
+
+    private void createSchema() {
+        execute(connection -> {
+            try (Statement statement = connection.createStatement()) {
+                for (String sql : SCHEMA) {
+                    statement.execute(sql);
+                }
+            }
+            return null;
+        });
+    }
+
+    // Applications
+
+    @Override
+    public ApplicationRecord load(UUID playerId) {
+        return execute(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT " + APPLICATION_COLUMNS + " FROM applications WHERE player_uuid = ?")) {
+                statement.setString(1, playerId.toString());
+                try (ResultSet results = statement.executeQuery()) {
+                    return results.next() ? readApplication(results) : null;
+                }
+            }
+        });
+    }
+
+    @Override
+    public void save(ApplicationRecord record) {
+        execute(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(SAVE_APPLICATION)) {
+                bindApplication(statement, record);
+                statement.executeUpdate();
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Writes every record in one transaction, so a write-behind flush costs a single commit.
+     */
+    @Override
+    public void saveAll(Collection<ApplicationRecord> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+
+        execute(connection -> {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(SAVE_APPLICATION)) {
+                for (ApplicationRecord record : records) {
+                    bindApplication(statement, record);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+            return null;
+        });
+    }
+
+    private static void bindApplication(PreparedStatement statement, ApplicationRecord record) throws SQLException {
+        statement.setString(1, record.getPlayerId().toString());
+        setNullableString(statement, 2, record.getPlayerName());
+        statement.setString(3, record.getRole());
+        statement.setString(4, record.getStatus());
+        statement.setLong(5, record.getStartTime());
+        statement.setLong(6, record.getSubmissionTime());
+        statement.setString(7, toJson(record.getQuestions()));
+        statement.setString(8, toJson(record.getAnswers()));
+        setNullableString(statement, 9, record.getAcceptedBy());
+        statement.setLong(10, record.getAcceptedTime());
+        setNullableString(statement, 11, record.getDeniedBy());
+        setNullableString(statement, 12, record.getDenialReason());
+        statement.setLong(13, record.getDeniedTime());
+    }
+
+    @Override
+    public void delete(UUID playerId) {
+        execute(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "DELETE FROM applications WHERE player_uuid = ?")) {
+                statement.setString(1, playerId.toString());
+                statement.executeUpdate();
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public Collection<ApplicationRecord> findAll() {
+        return queryApplications("SELECT " + APPLICATION_COLUMNS + " FROM applications ORDER BY submission_time", null);
+    }
+
+    @Override
+    public Collection<ApplicationRecord> findByStatus(String status) {
+        return queryApplications("SELECT " + APPLICATION_COLUMNS + " FROM applications WHERE status = ? "
+                + "ORDER BY submission_time", status);
+    }
+
+    private List<ApplicationRecord> queryApplications(String sql, String parameter) {
+        return execute(connection -> {
+            List<ApplicationRecord> records = new ArrayList<>();
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                if (parameter != null) {
+                    statement.setString(1, parameter);
+                }
+                try (ResultSet results = statement.executeQuery()) {
+                    while (results.next()) {
+                        records.add(readApplication(results));
+                    }
+                }
+            }
+            return records;
+        });
+    }
+
+    private ApplicationRecord readApplication(ResultSet results) throws SQLException {
+        ApplicationRecord record = new ApplicationRecord(UUID.fromString(results.getString("player_uuid")));
+        record.setPlayerName(results.getString("player_name"));
+        record.setRole(results.getString("role"));
+        record.setStatus(results.getString("status"));
+        record.setStartTime(results.getLong("start_time"));
+        record.setSubmissionTime(results.getLong("submission_time"));
+        record.setQuestions(fromJson(results.getString("questions")));
+        record.setAnswers(fromJson(results.getString("answers")));
+        if (results.getString("accepted_by") != null) {
+            record.setAccepted(results.getString("accepted_by"), results.getLong("accepted_time"));
+        }
+        if (results.getString("denied_by") != null) {
+            record.setDenied(results.getString("denied_by"), results.getString("denial_reason"),
+                    results.getLong("denied_time"));
+        }
+        return record;
+    }
+
+    // Status history
+
+    @Override
+    public List<StatusEntry> getHistory(UUID playerId) {
+        return execute(connection -> {
+            List<StatusEntry> history = new ArrayList<>();
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT role, status, timestamp, reason, handler FROM status_history "
+                            + "WHERE player_uuid = ? ORDER BY timestamp, id")) {
+                statement.setString(1, playerId.toString());
+                try (ResultSet results = statement.executeQuery()) {
+                    while (results.next()) {
+                        history.add(new StatusEntry(results.getString(1), results.getString(2),
+                                results.getLong(3), results.getString(4), results.getString(5)));
+                    }
+                }
+            }
+            return history;
+        });
+    }
+
+    @Override
+    public void append(UUID playerId, StatusEntry entry) {
+        execute(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO status_history (player_uuid, role, status, timestamp, reason, handler) "
+                            + "VALUES (?, ?, ?, ?, ?, ?)")) {
+                statement.setString(1, playerId.toString());
+                statement.setString(2, entry.getRole());
+                statement.setString(3, entry.getStatus());
+                statement.setLong(4, entry.getTimestamp());
+                setNullableString(statement, 5, entry.getReason());
+                setNullableString(statement, 6, entry.getHandler());
+                statement.executeUpdate();
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public Collection<UUID> getPlayers() {
+        return execute(connection -> {
+            List<UUID> players = new ArrayList<>();
+            try (Statement statement = connection.createStatement();
+                 ResultSet results = statement.executeQuery("SELECT DISTINCT player_uuid FROM status_history")) {
+                while (results.next()) {
+                    players.add(UUID.fromString(results.getString(1)));
+                }
+            }
+            return players;
+        });
+    }
+
+    @Override
+    public PurgeResult purge(UUID playerId, long cutoff, boolean dryRun) {
+        return execute(connection -> {
+            List<StatusEntry> removed = new ArrayList<>();
+            long bytes = 0;
+            try (PreparedStatement select = connection.prepareStatement(
+                    "SELECT role, status, timestamp, reason, handler FROM status_history "
+                            + "WHERE player_uuid = ? AND timestamp < ?")) {
+                select.setString(1, playerId.toString());
+                select.setLong(2, cutoff);
+                try (ResultSet results = select.executeQuery()) {
+                    while (results.next()) {
+                        StatusEntry entry = new StatusEntry(results.getString(1), results.getString(2),
+                                results.getLong(3), results.getString(4), results.getString(5));
+                        removed.add(entry);
+                        bytes += estimateRowSize(entry);
+                    }
+                }
+            }
+            if (removed.isEmpty()) {
+                return PurgeResult.NONE;
+            }
+
+            boolean emptied;
+            try (PreparedStatement remaining = connection.prepareStatement(
+                    "SELECT 1 FROM status_history WHERE player_uuid = ? AND timestamp >= ? LIMIT 1")) {
+                remaining.setString(1, playerId.toString());
+                remaining.setLong(2, cutoff);
+                try (ResultSet results = remaining.executeQuery()) {
+                    emptied = !results.next();
+                }
+            }
+
+            if (!dryRun) {
+                try (PreparedStatement delete = connection.prepareStatement(
+                        "DELETE FROM status_history WHERE player_uuid = ? AND timestamp < ?")) {
+                    delete.setString(1, playerId.toString());
+                    delete.setLong(2, cutoff);
+                    delete.executeUpdate();
+                }
+            }
+            return new PurgeResult(removed, bytes, emptied);
+        });
+    }
+
+    private static long estimateRowSize(StatusEntry entry) {
+        // Page space is only returned to the OS on VACUUM, so this is the row payload
+        return 36 + 16 + length(entry.getRole()) + length(entry.getStatus())
+                + length(entry.getReason()) + length(entry.getHandler());
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+
+    @Override
+    public void recordAction(long timestamp, String performer, String action, UUID targetId, String role) {
+        execute(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO actions (timestamp, performer, action, target_uuid, role) VALUES (?, ?, ?, ?, ?)")) {
+                statement.setLong(1, timestamp);
+                setNullableString(statement, 2, performer);
+                statement.setString(3, action);
+                setNullableString(statement, 4, targetId != null ? targetId.toString() : null);
+                setNullableString(statement, 5, role);
+                statement.executeUpdate();
+            }
+            return null;
+        });
+    }
+
+    // Lifecycle
+
+    @Override
+    public void flush() {
+        // Every statement is committed immediately
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!closed) {
+            closed = true;
+            pool.close();
+        }
+    }
+
+    // Helpers
+
+    private <T> T execute(SqlFunction<T> function) {
+        Connection connection = null;
+        try {
+            connection = pool.borrow();
+            return function.apply(connection);
+        } catch (SQLException e) {
+            plugin.getLogger().severe("Database error: " + e.getMessage());
+            throw new StorageException("Database operation failed", e);
+        } finally {
+            pool.release(connection);
+        }
+    }
+
+    private static void setNullableString(PreparedStatement statement, int index, String value) throws SQLException {
+        if (value == null) {
+            statement.setNull(index, Types.VARCHAR);
+        } else {
+            statement.setString(index, value);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String toJson(List<String> values) {
+        JSONArray array = new JSONArray();
+        array.addAll(values);
+        return array.toJSONString();
+    }
+
+    private static List<String> fromJson(String json) {
+        List<String> values = new ArrayList<>();
+        if (json == null || json.isEmpty()) {
+            return values;
+        }
+
+        try {
+            for (Object value : (JSONArray) new JSONParser().parse(json)) {
+                values.add(String.valueOf(value));
+            }
+        } catch (ParseException | ClassCastException ignored) {
+        }
+        return values;
+    }
+
+    @FunctionalInterface
+    private interface SqlFunction<T> {
+        T apply(Connection connection) throws SQLException;
+    }
+}
@@ -0,0 +1,68 @@
+package io.github.anonventions.capplications.storage;
+
+import org.json.simple.JSONObject;
+
+/**
+ * One entry in a player's application history, e.g. "moderator denied at T by Steve".
+ */
+public class StatusEntry {
+
+    private final String role;
+    private final String status;
+    private final long timestamp;
+    private final String reason;
+    private final String handler;
+
+    public StatusEntry(String role, String status, long timestamp, String reason, String handler) {
+        this.role = role;
+        this.status = status;
+        this.timestamp = timestamp;
+        this.reason = reason;
+        this.handler = handler;
+    }
+
+    public static StatusEntry fromJson(JSONObject json) {
+        Object timestamp = json.get("timestamp");
+        return new StatusEntry(
+                (String) json.get("role"),
+                (String) json.get("status"),
+                timestamp instanceof Number ? ((Number) timestamp).longValue() : 0L,
+                (String) json.get("reason"),
+                (String) json.get("handler"));
+    }
+
+    @SuppressWarnings("unchecked")
+    public JSONObject toJson() {
+        JSONObject json = new JSONObject();
+        json.put("role", role);
+        json.put("status", status);
+        json.put("timestamp", timestamp);
+        if (reason != null) {
+            json.put("reason", reason);
+        }
+        if (handler != null) {
+            json.put("handler", handler);
+        }
+        return json;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public String getHandler() {
+        return handler;
+    }
+}
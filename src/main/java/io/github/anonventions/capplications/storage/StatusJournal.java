@@ -0,0 +1,297 @@
+package io.github.anonventions.capplications.storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, length-prefixed segment files holding status events that have
+ * not been compacted into {@code playerdata/<uuid>.json} yet.
+ *
+ * <p>Each record is {@code [int length][int crc32][payload]}. Segments are named
+ * after the first sequence number they may contain, so the sequence survives a
+ * restart even when every older segment has been compacted away. A torn or
+ * corrupt record ends replay of its segment.</p>
+ */
+public class StatusJournal {
+
+    private static final String PREFIX = "segment-";
+    private static final String SUFFIX = ".log";
+    private static final int MAX_RECORD_SIZE = 1 << 20;
+
+    private final File folder;
+    private final long maxSegmentBytes;
+    private final Logger logger;
+
+    private FileChannel active;
+    private File activeFile;
+    private long nextSeq = 1;
+
+    public StatusJournal(File folder, long maxSegmentBytes, Logger logger) {
+        this.folder = folder;
+        this.maxSegmentBytes = maxSegmentBytes;
+        this.logger = logger;
+    }
+
+    /**
+     * Replays every existing segment in order, then starts a fresh active segment.
+     */
+    public synchronized void open(Consumer<Entry> consumer) throws IOException {
+        if (!folder.exists() && !folder.mkdirs()) {
+            throw new IOException("Could not create " + folder);
+        }
+
+        for (File segment : listSegments()) {
+            nextSeq = Math.max(nextSeq, firstSeqOf(segment));
+            long lastSeq = replay(segment, consumer);
+            nextSeq = Math.max(nextSeq, lastSeq + 1);
+        }
+
+        roll();
+    }
+
+    /**
+     * Appends one event and forces it to disk.
+     *
+     * @return the sequence number assigned to the event
+     */
+    public synchronized long append(UUID playerId, StatusEntry entry) throws IOException {
+        if (active == null) {
+            throw new IOException("Journal is closed");
+        }
+
+        long seq = nextSeq++;
+        byte[] payload = encode(seq, playerId, entry);
+
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+
+        ByteBuffer buffer = ByteBuffer.allocate(8 + payload.length);
+        buffer.putInt(payload.length);
+        buffer.putInt((int) crc.getValue());
+        buffer.put(payload);
+        buffer.flip();
+
+        long position = active.size();
+        try {
+            while (buffer.hasRemaining()) {
+                active.write(buffer);
+            }
+            active.force(false);
+        } catch (IOException e) {
+            discardPartialWrite(position);
+            throw e;
+        }
+
+        if (active.size() >= maxSegmentBytes) {
+            roll();
+        }
+        return seq;
+    }
+
+    /**
+     * Closes the active segment and starts a new one.
+     *
+     * @return the highest sequence number contained in the closed segments
+     */
+    public synchronized long roll() throws IOException {
+        if (active != null) {
+            active.close();
+        }
+
+        activeFile = new File(folder, PREFIX + nextSeq + SUFFIX);
+        active = FileChannel.open(activeFile.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        return nextSeq - 1;
+    }
+
+    /**
+     * Deletes closed segments whose records all have a sequence number of at most {@code seq}.
+     *
+     * @return {@code false} if any of them could not be deleted
+     */
+    public synchronized boolean deleteSegmentsUpTo(long seq) {
+        boolean deleted = true;
+        List<File> segments = listSegments();
+        for (int i = 0; i < segments.size(); i++) {
+            File segment = segments.get(i);
+            if (segment.equals(activeFile)) {
+                continue;
+            }
+
+            // A segment ends where the next one begins
+            long nextFirstSeq = i + 1 < segments.size() ? firstSeqOf(segments.get(i + 1)) : Long.MAX_VALUE;
+            if (nextFirstSeq - 1 <= seq && !segment.delete()) {
+                logger.warning("Failed to delete compacted journal segment " + segment.getName());
+                deleted = false;
+            }
+        }
+        return deleted;
+    }
+
+    public synchronized void close() throws IOException {
+        if (active != null) {
+            active.close();
+            active = null;
+        }
+    }
+
+    /**
+     * Cuts a failed append off the active segment, since replay stops at the
+     * first bad record and would skip every event appended after it. If that
+     * fails too, later events go to a new segment instead.
+     */
+    private void discardPartialWrite(long position) {
+        try {
+            active.truncate(position);
+            active.force(false);
+        } catch (IOException e) {
+            logger.warning("Failed to discard partial journal record in " + activeFile.getName()
+                    + ", starting a new segment: " + e.getMessage());
+            try {
+                roll();
+            } catch (IOException rollError) {
+                logger.severe("Failed to start a new journal segment: " + rollError.getMessage());
+            }
+        }
+    }
+
+    private long replay(File segment, Consumer<Entry> consumer) throws IOException {
+        long lastSeq = 0;
+        byte[] data = Files.readAllBytes(segment.toPath());
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+
+        while (buffer.remaining() >= 8) {
+            int length = buffer.getInt();
+            int checksum = buffer.getInt();
+            if (length <= 0 || length > MAX_RECORD_SIZE || length > buffer.remaining()) {
+                logger.warning("Truncated record in journal segment " + segment.getName() + ", ignoring the rest");
+                return lastSeq;
+            }
+
+            byte[] payload = new byte[length];
+            buffer.get(payload);
+
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            if ((int) crc.getValue() != checksum) {
+                logger.warning("Corrupt record in journal segment " + segment.getName() + ", ignoring the rest");
+                return lastSeq;
+            }
+
+            Entry entry = decode(payload);
+            lastSeq = Math.max(lastSeq, entry.seq);
+            consumer.accept(entry);
+        }
+
+        if (buffer.hasRemaining()) {
+            logger.warning("Truncated record in journal segment " + segment.getName() + ", ignoring the rest");
+        }
+        return lastSeq;
+    }
+
+    private List<File> listSegments() {
+        List<File> segments = new ArrayList<>();
+        File[] files = folder.listFiles((dir, name) -> name.startsWith(PREFIX) && name.endsWith(SUFFIX));
+        if (files != null) {
+            for (File file : files) {
+                if (firstSeqOf(file) > 0) {
+                    segments.add(file);
+                }
+            }
+        }
+        segments.sort((a, b) -> Long.compare(firstSeqOf(a), firstSeqOf(b)));
+        return segments;
+    }
+
+    private static long firstSeqOf(File segment) {
+        String name = segment.getName();
+        try {
+            return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static byte[] encode(long seq, UUID playerId, StatusEntry entry) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(seq);
+            out.writeLong(playerId.getMostSignificantBits());
+            out.writeLong(playerId.getLeastSignificantBits());
+            out.writeUTF(entry.getRole());
+            out.writeUTF(entry.getStatus());
+            out.writeLong(entry.getTimestamp());
+            writeNullable(out, entry.getReason());
+            writeNullable(out, entry.getHandler());
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Entry decode(byte[] payload) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            long seq = in.readLong();
+            UUID playerId = new UUID(in.readLong(), in.readLong());
+            String role = in.readUTF();
+            String status = in.readUTF();
+            long timestamp = in.readLong();
+            String reason = readNullable(in);
+            String handler = readNullable(in);
+            return new Entry(seq, playerId, new StatusEntry(role, status, timestamp, reason, handler));
+        } catch (EOFException e) {
+            throw new IOException("Malformed journal record", e);
+        }
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    /**
+     * A replayed journal record.
+     */
+    public static final class Entry {
+        private final long seq;
+        private final UUID playerId;
+        private final StatusEntry status;
+
+        public Entry(long seq, UUID playerId, StatusEntry status) {
+            this.seq = seq;
+            this.playerId = playerId;
+            this.status = status;
+        }
+
+        public long getSeq() {
+            return seq;
+        }
+
+        public UUID getPlayerId() {
+            return playerId;
+        }
+
+        public StatusEntry getStatus() {
+            return status;
+        }
+    }
+}
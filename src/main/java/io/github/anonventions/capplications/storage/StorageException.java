@@ -0,0 +1,11 @@
+package io.github.anonventions.capplications.storage;
+
+/**
+ * Thrown when a storage backend cannot complete an operation.
+ */
+public class StorageException extends RuntimeException {
+
+    public StorageException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,144 @@
+package io.github.anonventions.capplications.storage;
+
+import io.github.anonventions.capplications.CApplications;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Stores each application as {@code applications/<uuid>.yml}. Every call hits
+ * the disk, so this is normally wrapped by {@link CachedApplicationStore}.
+ * Files are replaced atomically through the {@link DurableFileWriter}.
+ */
+public class YamlApplicationStore implements ApplicationStore {
+
+    private final CApplications plugin;
+    private final File folder;
+    private final DurableFileWriter writer;
+
+    public YamlApplicationStore(CApplications plugin, DurableFileWriter writer) {
+        this.plugin = plugin;
+        this.folder = new File(plugin.getDataFolder(), "applications");
+        this.writer = writer;
+    }
+
+    @Override
+    public ApplicationRecord load(UUID playerId) {
+        File file = getFile(playerId);
+        if (!file.exists()) {
+            return null;
+        }
+        return read(playerId, file);
+    }
+
+    @Override
+    public void save(ApplicationRecord record) {
+        try {
+            writer.write(getFile(record.getPlayerId()), encode(record));
+        } catch (IOException e) {
+            throw new StorageException("Failed to save application for " + record.getPlayerId(), e);
+        }
+    }
+
+    @Override
+    public void saveAll(Collection<ApplicationRecord> records) {
+        Map<File, byte[]> contents = new LinkedHashMap<>();
+        for (ApplicationRecord record : records) {
+            contents.put(getFile(record.getPlayerId()), encode(record));
+        }
+
+        try {
+            writer.writeAll(contents);
+        } catch (IOException e) {
+            throw new StorageException("Failed to save " + records.size() + " application(s)", e);
+        }
+    }
+
+    @Override
+    public void delete(UUID playerId) {
+        File file = getFile(playerId);
+        if (file.exists()) {
+            file.delete();
+        }
+    }
+
+    @Override
+    public Collection<ApplicationRecord> findAll() {
+        List<ApplicationRecord> records = new ArrayList<>();
+        File[] files = folder.listFiles((dir, name) -> name.endsWith(".yml"));
+        if (files == null) {
+            return records;
+        }
+
+        for (File file : files) {
+            UUID playerId;
+            try {
+                playerId = UUID.fromString(file.getName().replace(".yml", ""));
+            } catch (IllegalArgumentException e) {
+                plugin.getLogger().warning("Skipping unrecognised application file: " + file.getName());
+                continue;
+            }
+
+            ApplicationRecord record = read(playerId, file);
+            if (record != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+
+    @Override
+    public Collection<ApplicationRecord> findByStatus(String status) {
+        return findAll().stream()
+                .filter(record -> record.hasStatus(status))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void flush() {
+        // Writes are synchronous
+    }
+
+    @Override
+    public void close() {
+        // Nothing to release
+    }
+
+    /**
+     * @return the record, or {@code null} if the file was unreadable and has been quarantined
+     */
+    private ApplicationRecord read(UUID playerId, File file) {
+        YamlConfiguration config = new YamlConfiguration();
+        try {
+            config.loadFromString(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new StorageException("Failed to read application for " + playerId, e);
+        } catch (InvalidConfigurationException e) {
+            plugin.getLogger().severe("Application file for " + playerId + " is corrupt: " + e.getMessage());
+            writer.quarantine(file);
+            return null;
+        }
+        return ApplicationRecord.fromConfiguration(playerId, config);
+    }
+
+    private static byte[] encode(ApplicationRecord record) {
+        YamlConfiguration config = new YamlConfiguration();
+        record.writeTo(config);
+        return config.saveToString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private File getFile(UUID playerId) {
+        return new File(folder, playerId.toString() + ".yml");
+    }
+}
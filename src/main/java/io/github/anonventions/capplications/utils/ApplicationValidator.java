@@ -1,13 +1,10 @@
 package io.github.anonventions.capplications.utils;
 
 import io.github.anonventions.capplications.CApplications;
+import io.github.anonventions.capplications.index.CooldownIndex;
+import io.github.anonventions.capplications.storage.ApplicationRecord;
 import org.bukkit.entity.Player;
-import org.bukkit.configuration.file.FileConfiguration;
-import org.json.simple.JSONArray;
-import org.json.simple.JSONObject;
 
-import java.util.List;
-import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
@@ -19,8 +16,7 @@ public class ApplicationValidator {
     }
 
     public boolean isValidRole(String role) {
-        Set<String> roles = plugin.getCustomConfig().getConfigurationSection("applications").getKeys(false);
-        return roles.contains(role);
+        return plugin.getRoleRegistry().contains(role);
     }
 
     public boolean canApplyForRole(Player player, String role) {
@@ -29,59 +25,37 @@ public class ApplicationValidator {
     }
 
     public boolean hasActiveApplication(UUID playerId) {
-        FileConfiguration config = plugin.loadApplication(playerId);
-        return config != null && "in progress".equals(config.getString("status"));
+        ApplicationRecord record = plugin.getApplicationStore().load(playerId);
+        return record != null && record.hasStatus(ApplicationRecord.STATUS_IN_PROGRESS);
     }
 
+    /**
+     * @return the time left in milliseconds, or -1 if the player's history is still loading
+     */
     public long getApplicationCooldown(UUID playerId, String role) {
-        JSONArray statuses = plugin.loadPlayerStatus(playerId);
-        long cooldownDuration = TimeUnit.HOURS.toMillis(
-                plugin.getConfig().getInt("settings.cooldown_hours", 24)
-        );
-
-        for (Object obj : statuses) {
-            JSONObject status = (JSONObject) obj;
-            if (role.equals(status.get("role")) &&
-                    ("denied".equals(status.get("status")) || "expired".equals(status.get("status")))) {
-                long lastAttempt = (long) status.get("timestamp");
-                long timePassed = System.currentTimeMillis() - lastAttempt;
-                return Math.max(0, cooldownDuration - timePassed);
-            }
+        CooldownIndex.PlayerCooldowns cooldowns = plugin.getCooldownIndex().get(playerId);
+        if (cooldowns == null) {
+            return -1;
         }
-        return 0;
-    }
-
-    public boolean meetsRoleRequirements(Player player, String role) {
-        List<String> requirements = plugin.getCustomConfig().getStringList("applications." + role + ".requirements");
 
-        for (String requirement : requirements) {
-            if (requirement.startsWith("permission:")) {
-                String permission = requirement.substring(11);
-                if (!player.hasPermission(permission)) {
-                    return false;
-                }
-            } else if (requirement.startsWith("playtime:")) {
-                // Implementation for playtime requirements
-                // This would require a playtime tracking plugin or stat
-                continue;
-            }
+        long lastDeclined = cooldowns.getLastDeclined(role);
+        if (lastDeclined == 0) {
+            return 0;
         }
-        return true;
+
+        long cooldownDuration = TimeUnit.HOURS.toMillis(
+                plugin.getConfig().getInt("settings.cooldown_hours", 24)
+        );
+        long timePassed = System.currentTimeMillis() - lastDeclined;
+        return Math.max(0, cooldownDuration - timePassed);
     }
 
+    /**
+     * Counts as {@code true} while the player's history is still loading.
+     */
     public boolean hasRecentApplication(UUID playerId, String role, int hours) {
-        JSONArray statuses = plugin.loadPlayerStatus(playerId);
+        CooldownIndex.PlayerCooldowns cooldowns = plugin.getCooldownIndex().get(playerId);
         long timeThreshold = System.currentTimeMillis() - TimeUnit.HOURS.toMillis(hours);
-
-        for (Object obj : statuses) {
-            JSONObject status = (JSONObject) obj;
-            if (role.equals(status.get("role"))) {
-                long timestamp = (long) status.get("timestamp");
-                if (timestamp > timeThreshold) {
-                    return true;
-                }
-            }
-        }
-        return false;
+        return cooldowns == null || cooldowns.getLastAttempt(role) > timeThreshold;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,90 @@
+package io.github.anonventions.capplications.utils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable, case-insensitive prefix trie for tab completion. Every node keeps
+ * its completions as a ready-made list, so a lookup walks the prefix once and
+ * returns without allocating or filtering.
+ */
+public final class CompletionTrie {
+
+    public static final CompletionTrie EMPTY = new CompletionTrie(new Node());
+
+    private final Node root;
+
+    private CompletionTrie(Node root) {
+        this.root = root;
+    }
+
+    public static CompletionTrie of(Collection<String> words) {
+        return of(words, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param limit maximum number of completions kept per prefix
+     */
+    public static CompletionTrie of(Collection<String> words, int limit) {
+        // Sorted and de-duplicated by lower-case key so each node's list is in order
+        TreeMap<String, String> sorted = new TreeMap<>();
+        for (String word : words) {
+            if (word != null && !word.isEmpty()) {
+                sorted.putIfAbsent(word.toLowerCase(Locale.ROOT), word);
+            }
+        }
+
+        Node root = new Node();
+        for (Map.Entry<String, String> entry : sorted.entrySet()) {
+            String key = entry.getKey();
+            Node node = root;
+            node.add(entry.getValue(), limit);
+            for (int i = 0; i < key.length(); i++) {
+                node = node.child(key.charAt(i));
+                node.add(entry.getValue(), limit);
+            }
+        }
+        root.freeze();
+        return new CompletionTrie(root);
+    }
+
+    /**
+     * @return the words starting with {@code prefix}, ignoring case; the list must not be modified
+     */
+    public List<String> complete(String prefix) {
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.children.get(Character.toLowerCase(prefix.charAt(i)));
+        }
+        return node != null ? node.words : Collections.<String>emptyList();
+    }
+
+    private static final class Node {
+        private Map<Character, Node> children = new HashMap<>(4);
+        private List<String> words = new ArrayList<>(2);
+
+        private Node child(char c) {
+            return children.computeIfAbsent(c, key -> new Node());
+        }
+
+        private void add(String word, int limit) {
+            if (words.size() < limit) {
+                words.add(word);
+            }
+        }
+
+        private void freeze() {
+            words = Collections.unmodifiableList(words);
+            for (Node child : children.values()) {
+                child.freeze();
+            }
+            children = children.isEmpty() ? Collections.<Character, Node>emptyMap() : children;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package io.github.anonventions.capplications.utils;
 
 import io.github.anonventions.capplications.CApplications;
+import io.github.anonventions.capplications.roles.RoleRegistry;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 
@@ -13,6 +14,7 @@ public class ConfigManager {
     private final CApplications plugin;
     private FileConfiguration applicationsConfig;
     private File applicationsConfigFile;
+    private volatile RoleRegistry roleRegistry = RoleRegistry.EMPTY;
 
     public ConfigManager(CApplications plugin) {
         this.plugin = plugin;
@@ -42,6 +44,7 @@ public class ConfigManager {
         }
 
         applicationsConfig = YamlConfiguration.loadConfiguration(applicationsConfigFile);
+        roleRegistry = RoleRegistry.compile(applicationsConfig.getConfigurationSection("applications"), plugin.getLogger());
     }
 
     private void createApplicationsConfig() {
@@ -99,6 +102,10 @@ public class ConfigManager {
         return applicationsConfig;
     }
 
+    public RoleRegistry getRoleRegistry() {
+        return roleRegistry;
+    }
+
     public void saveApplicationsConfig() {
         try {
             applicationsConfig.save(applicationsConfigFile);
@@ -0,0 +1,90 @@
+package io.github.anonventions.capplications.utils;
+
+import org.bukkit.ChatColor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A message split into colour-translated literal segments and {@code {n}}
+ * placeholder slots, so rendering is a single append pass.
+ */
+public final class MessageTemplate {
+
+    private static final ThreadLocal<StringBuilder> BUILDER = ThreadLocal.withInitial(() -> new StringBuilder(128));
+
+    // literals.length == slots.length + 1; slot i sits between literal i and i + 1
+    private final String[] literals;
+    private final int[] slots;
+
+    private MessageTemplate(String[] literals, int[] slots) {
+        this.literals = literals;
+        this.slots = slots;
+    }
+
+    public static MessageTemplate compile(String raw) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+
+        int start = 0;
+        int open = raw.indexOf('{');
+        while (open >= 0) {
+            int close = raw.indexOf('}', open);
+            if (close < 0) break;
+
+            int slot = parseSlot(raw, open + 1, close);
+            if (slot >= 0) {
+                literals.add(raw.substring(start, open));
+                slots.add(slot);
+                start = close + 1;
+            }
+            open = raw.indexOf('{', slot >= 0 ? close + 1 : open + 1);
+        }
+        literals.add(raw.substring(start));
+
+        // Colour codes are resolved per segment, so a code split by a placeholder stays literal
+        String[] translated = new String[literals.size()];
+        for (int i = 0; i < translated.length; i++) {
+            translated[i] = ChatColor.translateAlternateColorCodes('&', literals.get(i));
+        }
+        int[] slotArray = new int[slots.size()];
+        for (int i = 0; i < slotArray.length; i++) {
+            slotArray[i] = slots.get(i);
+        }
+        return new MessageTemplate(translated, slotArray);
+    }
+
+    public String render(Object... replacements) {
+        if (slots.length == 0) {
+            return literals[0];
+        }
+
+        StringBuilder builder = BUILDER.get();
+        builder.setLength(0);
+        builder.append(literals[0]);
+        for (int i = 0; i < slots.length; i++) {
+            int slot = slots[i];
+            if (slot < replacements.length) {
+                String value = String.valueOf(replacements[slot]);
+                // Values such as role display names may carry colour codes of their own
+                builder.append(value.indexOf('&') >= 0 ? ChatColor.translateAlternateColorCodes('&', value) : value);
+            } else {
+                builder.append('{').append(slot).append('}');
+            }
+            builder.append(literals[i + 1]);
+        }
+        return builder.toString();
+    }
+
+    private static int parseSlot(String raw, int from, int to) {
+        if (from == to || to - from > 3) return -1;
+
+        int slot = 0;
+        for (int i = from; i < to; i++) {
+            char c = raw.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            slot = slot * 10 + (c - '0');
+        }
+        return slot;
+    }
+}
@@ -3,24 +3,43 @@ package io.github.anonventions.capplications.utils;
 import io.github.anonventions.capplications.CApplications;
 import org.bukkit.ChatColor;
 import org.bukkit.command.CommandSender;
-import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class MessageUtils {
     private final CApplications plugin;
 
+    // messages.* compiled once per (re)load
+    private volatile Map<String, MessageTemplate> templates = new ConcurrentHashMap<>();
+
     public MessageUtils(CApplications plugin) {
         this.plugin = plugin;
+        reload();
     }
 
-    public String formatMessage(String path, Object... replacements) {
-        FileConfiguration config = plugin.getConfig();
-        String message = config.getString("messages." + path, "Message not found: " + path);
-
-        for (int i = 0; i < replacements.length; i++) {
-            message = message.replace("{" + i + "}", String.valueOf(replacements[i]));
+    /**
+     * Recompiles every {@code messages.*} entry from the current config.
+     */
+    public void reload() {
+        Map<String, MessageTemplate> compiled = new ConcurrentHashMap<>();
+        ConfigurationSection section = plugin.getConfig().getConfigurationSection("messages");
+        if (section != null) {
+            for (String key : section.getKeys(true)) {
+                if (section.isString(key)) {
+                    compiled.put(key, MessageTemplate.compile(section.getString(key)));
+                }
+            }
         }
+        templates = compiled;
+    }
 
-        return ChatColor.translateAlternateColorCodes('&', message);
+    public String formatMessage(String path, Object... replacements) {
+        // Keys only present in the bundled defaults are compiled on first use
+        MessageTemplate template = templates.computeIfAbsent(path, key -> MessageTemplate.compile(
+                plugin.getConfig().getString("messages." + key, "Message not found: " + key)));
+        return template.render(replacements);
     }
 
     public void sendMessage(CommandSender sender, String path, Object... replacements) {
@@ -42,4 +61,4 @@ public class MessageUtils {
     public void sendInfoMessage(CommandSender sender, String message) {
         sender.sendMessage(ChatColor.YELLOW + message);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,13 @@
+package io.github.anonventions.capplications.utils;
+
+/**
+ * Thrown when a permission change can never succeed as things are set up,
+ * e.g. LuckPerms isn't loaded or the role has no permission configured, so
+ * retrying it is pointless.
+ */
+public class PermissionUnavailableException extends RuntimeException {
+
+    public PermissionUnavailableException(String message) {
+        super(message);
+    }
+}
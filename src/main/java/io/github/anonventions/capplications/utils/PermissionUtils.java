@@ -3,87 +3,63 @@ package io.github.anonventions.capplications.utils;
 import io.github.anonventions.capplications.CApplications;
 import net.luckperms.api.LuckPerms;
 import net.luckperms.api.LuckPermsProvider;
-import net.luckperms.api.model.user.User;
+import net.luckperms.api.model.data.DataMutateResult;
 import net.luckperms.api.node.Node;
+import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
+/**
+ * Grants and revokes role permissions through LuckPerms without blocking the
+ * calling thread. Changes for the same player made within one tick are applied
+ * in a single {@code modifyUser} call, which loads offline users and saves once.
+ */
 public class PermissionUtils {
     private final CApplications plugin;
+    private final LuckPerms luckPerms;
+
+    // Node changes waiting for the next flush, per player
+    private final Map<UUID, List<Change>> batches = new HashMap<>();
 
     public PermissionUtils(CApplications plugin) {
         this.plugin = plugin;
-    }
 
-    public boolean grantRolePermissions(UUID playerId, String role) {
+        LuckPerms handle = null;
         try {
-            LuckPerms luckPerms = LuckPermsProvider.get();
-            User user = luckPerms.getUserManager().getUser(playerId);
-
-            if (user == null) {
-                plugin.getLogger().warning("Could not find LuckPerms user for UUID: " + playerId);
-                return false;
-            }
-
-            String permission = plugin.getConfig().getString("permissions." + role);
-            if (permission == null) {
-                plugin.getLogger().warning("No permission configured for role: " + role);
-                return false;
-            }
-
-            // Check if it's a group permission
-            if (permission.startsWith("group.")) {
-                String groupName = permission.substring(6);
-                user.data().add(Node.builder("group." + groupName).build());
-            } else {
-                // Regular permission
-                user.data().add(Node.builder(permission).build());
-            }
-
-            luckPerms.getUserManager().saveUser(user);
-            plugin.getLogger().info("Granted permissions for role '" + role + "' to player: " + playerId);
-            return true;
-
-        } catch (Exception e) {
-            plugin.getLogger().severe("Failed to grant permissions for role '" + role + "' to player " + playerId + ": " + e.getMessage());
-            return false;
+            handle = LuckPermsProvider.get();
+        } catch (IllegalStateException e) {
+            plugin.getLogger().warning("LuckPerms is not loaded - role permissions will not be granted");
         }
+        this.luckPerms = handle;
     }
 
-    public boolean revokeRolePermissions(UUID playerId, String role) {
-        try {
-            LuckPerms luckPerms = LuckPermsProvider.get();
-            User user = luckPerms.getUserManager().getUser(playerId);
-
-            if (user == null) {
-                plugin.getLogger().warning("Could not find LuckPerms user for UUID: " + playerId);
-                return false;
-            }
-
-            String permission = plugin.getConfig().getString("permissions." + role);
-            if (permission == null) {
-                plugin.getLogger().warning("No permission configured for role: " + role);
-                return false;
-            }
-
-            // Check if it's a group permission
-            if (permission.startsWith("group.")) {
-                String groupName = permission.substring(6);
-                user.data().remove(Node.builder("group." + groupName).build());
-            } else {
-                // Regular permission
-                user.data().remove(Node.builder(permission).build());
-            }
+    /**
+     * @return a future completing with whether the player now has the role's permission, or failing
+     *         with {@link PermissionUnavailableException} if it can't be granted at all
+     */
+    public CompletableFuture<Boolean> grantRolePermissions(UUID playerId, String role) {
+        return submit(playerId, role, true);
+    }
 
-            luckPerms.getUserManager().saveUser(user);
-            plugin.getLogger().info("Revoked permissions for role '" + role + "' from player: " + playerId);
-            return true;
+    /**
+     * @return a future completing with whether the role's permission is now gone, or failing
+     *         with {@link PermissionUnavailableException} if it can't be revoked at all
+     */
+    public CompletableFuture<Boolean> revokeRolePermissions(UUID playerId, String role) {
+        return submit(playerId, role, false);
+    }
 
-        } catch (Exception e) {
-            plugin.getLogger().severe("Failed to revoke permissions for role '" + role + "' from player " + playerId + ": " + e.getMessage());
-            return false;
-        }
+    /**
+     * @return the LuckPerms API, or {@code null} if it wasn't loaded at startup
+     */
+    public LuckPerms getLuckPerms() {
+        return luckPerms;
     }
 
     public boolean hasRolePermission(Player player, String role) {
@@ -115,29 +91,110 @@ public class PermissionUtils {
     }
 
     public boolean isLuckPermsAvailable() {
-        try {
-            LuckPermsProvider.get();
-            return true;
-        } catch (IllegalStateException e) {
-            return false;
-        }
+        return luckPerms != null;
     }
 
     public void addApplicationPermissions(UUID playerId, String role) {
-        if (!isLuckPermsAvailable()) {
-            plugin.getLogger().warning("LuckPerms not available - cannot add permissions");
-            return;
-        }
-
         grantRolePermissions(playerId, role);
     }
 
     public void removeApplicationPermissions(UUID playerId, String role) {
-        if (!isLuckPermsAvailable()) {
-            plugin.getLogger().warning("LuckPerms not available - cannot remove permissions");
+        revokeRolePermissions(playerId, role);
+    }
+
+    /**
+     * Sends queued changes right away, since their scheduled flush won't run after disable.
+     */
+    public void close() {
+        List<UUID> queued;
+        synchronized (batches) {
+            queued = new ArrayList<>(batches.keySet());
+        }
+        for (UUID playerId : queued) {
+            flush(playerId);
+        }
+    }
+
+    private CompletableFuture<Boolean> submit(UUID playerId, String role, boolean add) {
+        if (luckPerms == null) {
+            return unavailable("LuckPerms is not loaded");
+        }
+
+        String permission = plugin.getConfig().getString("permissions." + role);
+        if (permission == null) {
+            return unavailable("No permission configured for role: " + role);
+        }
+
+        Change change = new Change(Node.builder(permission).build(), add, role);
+        boolean first;
+        synchronized (batches) {
+            List<Change> batch = batches.get(playerId);
+            first = batch == null;
+            if (first) {
+                batch = new ArrayList<>(2);
+                batches.put(playerId, batch);
+            }
+            batch.add(change);
+        }
+
+        if (first) {
+            // Changes queued before the next tick ride along in the same save
+            Bukkit.getScheduler().runTaskLater(plugin, () -> flush(playerId), 1L);
+        }
+        return change.result;
+    }
+
+    private static CompletableFuture<Boolean> unavailable(String reason) {
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        result.completeExceptionally(new PermissionUnavailableException(reason));
+        return result;
+    }
+
+    private void flush(UUID playerId) {
+        List<Change> batch;
+        synchronized (batches) {
+            batch = batches.remove(playerId);
+        }
+        if (batch == null) {
             return;
         }
 
-        revokeRolePermissions(playerId, role);
+        luckPerms.getUserManager().modifyUser(playerId, user -> {
+            for (Change change : batch) {
+                change.outcome = change.add ? user.data().add(change.node) : user.data().remove(change.node);
+            }
+        }).whenComplete((ignored, error) -> {
+            for (Change change : batch) {
+                if (error != null) {
+                    plugin.getLogger().severe("Failed to update permissions for role '" + change.role + "' of player "
+                            + playerId + ": " + error.getMessage());
+                    change.result.complete(false);
+                    continue;
+                }
+
+                // Already having (or lacking) the node is what the caller wanted anyway
+                boolean applied = change.outcome == DataMutateResult.SUCCESS
+                        || change.outcome == (change.add ? DataMutateResult.FAIL_ALREADY_HAS : DataMutateResult.FAIL_LACKS);
+                if (applied) {
+                    plugin.getLogger().info((change.add ? "Granted" : "Revoked") + " permissions for role '"
+                            + change.role + "' " + (change.add ? "to" : "from") + " player: " + playerId);
+                }
+                change.result.complete(applied);
+            }
+        });
+    }
+
+    private static final class Change {
+        private final Node node;
+        private final boolean add;
+        private final String role;
+        private final CompletableFuture<Boolean> result = new CompletableFuture<>();
+        private volatile DataMutateResult outcome;
+
+        private Change(Node node, boolean add, String role) {
+            this.node = node;
+            this.add = add;
+            this.role = role;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,116 @@
+package io.github.anonventions.capplications.permissions;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class OutboxLogTest {
+
+    private static final UUID PLAYER = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private File file;
+
+    @Before
+    public void setUp() {
+        file = new File(folder.getRoot(), "permission-outbox.log");
+    }
+
+    @Test
+    public void replayYieldsOnlyOutstandingOperations() throws IOException {
+        OutboxLog log = open(Collections.emptyList());
+        log.appendEnqueue(new PermissionOutbox.Operation(1, PLAYER, "builder", true));
+        log.appendEnqueue(new PermissionOutbox.Operation(2, PLAYER, "moderator", false));
+        log.appendDone(1);
+        log.close();
+
+        Map<Long, PermissionOutbox.Operation> outstanding = replay();
+        assertEquals(Collections.singleton(2L), outstanding.keySet());
+
+        PermissionOutbox.Operation operation = outstanding.get(2L);
+        assertEquals(PLAYER, operation.getPlayerId());
+        assertEquals("moderator", operation.getRole());
+        assertFalse(operation.isGrant());
+    }
+
+    @Test
+    public void openRewritesTheLogToOutstandingOperations() throws IOException {
+        OutboxLog log = open(Collections.emptyList());
+        for (long id = 1; id <= 50; id++) {
+            log.appendEnqueue(new PermissionOutbox.Operation(id, PLAYER, "builder", true));
+            log.appendDone(id);
+        }
+        log.appendEnqueue(new PermissionOutbox.Operation(51, PLAYER, "builder", true));
+        long before = file.length();
+
+        log.open(new ArrayList<>(replay().values()));
+        log.close();
+
+        assertTrue(file.length() < before);
+        assertFalse(new File(folder.getRoot(), "permission-outbox.log.tmp").exists());
+        assertEquals(Collections.singleton(51L), replay().keySet());
+    }
+
+    @Test
+    public void tornTailIsIgnored() throws IOException {
+        OutboxLog log = open(Arrays.asList(
+                new PermissionOutbox.Operation(1, PLAYER, "builder", true),
+                new PermissionOutbox.Operation(2, PLAYER, "moderator", true)));
+        log.appendDone(2);
+        log.close();
+
+        // Losing the done record brings the operation back, which is safe to repeat
+        try (RandomAccessFile raw = new RandomAccessFile(file, "rw")) {
+            raw.setLength(raw.length() - 4);
+        }
+
+        List<Long> ids = new ArrayList<>(replay().keySet());
+        assertEquals(Arrays.asList(1L, 2L), ids);
+    }
+
+    @Test
+    public void missingLogReplaysNothing() throws IOException {
+        assertTrue(replay().isEmpty());
+    }
+
+    private OutboxLog open(List<PermissionOutbox.Operation> outstanding) throws IOException {
+        OutboxLog log = new OutboxLog(file, Logger.getAnonymousLogger());
+        log.open(outstanding);
+        return log;
+    }
+
+    private Map<Long, PermissionOutbox.Operation> replay() throws IOException {
+        Map<Long, PermissionOutbox.Operation> outstanding = new LinkedHashMap<>();
+        new OutboxLog(file, Logger.getAnonymousLogger()).replay(new OutboxLog.Consumer() {
+            @Override
+            public void enqueued(PermissionOutbox.Operation operation) {
+                outstanding.put(operation.getId(), operation);
+            }
+
+            @Override
+            public void done(long id) {
+                outstanding.remove(id);
+            }
+        });
+        return outstanding;
+    }
+}
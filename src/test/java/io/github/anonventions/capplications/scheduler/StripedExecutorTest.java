@@ -0,0 +1,184 @@
+package io.github.anonventions.capplications.scheduler;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class StripedExecutorTest {
+
+    private final List<LogRecord> logged = Collections.synchronizedList(new ArrayList<>());
+    private StripedExecutor executor;
+
+    @Before
+    public void setUp() {
+        Logger logger = Logger.getAnonymousLogger();
+        logger.setUseParentHandlers(false);
+        logger.addHandler(new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                logged.add(record);
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+        executor = new StripedExecutor("test-stripe", 4, logger);
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        executor.shutdown(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void runsOnePlayersTasksInSubmissionOrder() throws Exception {
+        UUID player = UUID.randomUUID();
+        List<Integer> seen = Collections.synchronizedList(new ArrayList<>());
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            int value = i;
+            tasks.add(executor.submit(player, () -> {
+                seen.add(value);
+                return null;
+            }));
+        }
+        CompletableFuture.allOf(tasks.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, (int) seen.get(i));
+        }
+    }
+
+    @Test
+    public void runsOtherStripesWhileOneIsBusy() throws Exception {
+        UUID first = playerOnStripe(0);
+        UUID second = playerOnStripe(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Void> blocked = executor.submit(first, () -> {
+            await(release);
+            return null;
+        });
+        // Would never run if both players shared the blocked thread
+        executor.submit(second, () -> {
+            release.countDown();
+            return null;
+        }).get(5, TimeUnit.SECONDS);
+
+        blocked.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void reportsFailuresThroughTheFuture() throws Exception {
+        UUID player = UUID.randomUUID();
+        CompletableFuture<Object> failed = executor.submit(player, () -> {
+            throw new IllegalStateException("boom");
+        });
+
+        try {
+            failed.get(5, TimeUnit.SECONDS);
+            fail("expected the task to fail");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+
+        // The stripe keeps working after a failed task
+        assertEquals("ok", executor.submit(player, () -> "ok").get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void logsFailedFireAndForgetTasks() throws Exception {
+        UUID player = UUID.randomUUID();
+        executor.execute(player, () -> {
+            throw new IllegalStateException("boom");
+        });
+        // Runs after the failed task, by which time its failure has been logged
+        executor.submit(player, () -> null).get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, logged.size());
+        assertTrue(logged.get(0).getMessage(), logged.get(0).getMessage().contains("boom"));
+    }
+
+    @Test
+    public void shutdownDrainsQueuedTasks() throws Exception {
+        UUID player = UUID.randomUUID();
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger ran = new AtomicInteger();
+
+        executor.submit(player, () -> {
+            await(release);
+            return null;
+        });
+        for (int i = 0; i < 10; i++) {
+            executor.execute(player, ran::incrementAndGet);
+        }
+        release.countDown();
+        executor.shutdown(5, TimeUnit.SECONDS);
+
+        assertEquals(10, ran.get());
+        assertEquals(0, executor.size());
+    }
+
+    @Test
+    public void runsTasksInlineAfterShutdown() throws Exception {
+        executor.shutdown(5, TimeUnit.SECONDS);
+
+        Thread caller = Thread.currentThread();
+        CompletableFuture<Thread> ranOn = executor.submit(UUID.randomUUID(), Thread::currentThread);
+
+        assertTrue(ranOn.isDone());
+        assertSame(caller, ranOn.get());
+    }
+
+    @Test
+    public void reportsMetricsPerStripe() throws Exception {
+        executor.submit(playerOnStripe(2), () -> null).get(5, TimeUnit.SECONDS);
+
+        List<String> metrics = executor.describeMetrics();
+        assertEquals(4, metrics.size());
+        assertTrue(metrics.get(2), metrics.get(2).startsWith("Stripe 2: ") && metrics.get(2).contains(" 1 run,"));
+        assertTrue(metrics.get(0), metrics.get(0).startsWith("Stripe 0: 0 queued, 0 run,"));
+    }
+
+    private UUID playerOnStripe(int stripe) {
+        while (true) {
+            UUID player = UUID.randomUUID();
+            if (Math.floorMod(player.hashCode(), executor.getStripeCount()) == stripe) {
+                return player;
+            }
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(5, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Timed out");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package io.github.anonventions.capplications.session;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AnswerLogTest {
+
+    private static final UUID PLAYER = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private File file;
+
+    @Before
+    public void setUp() {
+        file = new File(folder.getRoot(), "sessions.wal");
+    }
+
+    @Test
+    public void replaysAnswersWithTheirApplication() throws IOException {
+        AnswerLog log = open();
+        log.append(PLAYER, 1000, 0, "Because I like building");
+        log.append(PLAYER, 1000, 1, "\u00dcn\u00efc\u00f6d\u00e9");
+        log.close();
+
+        List<String> replayed = replay();
+        assertEquals(2, replayed.size());
+        assertEquals(PLAYER + "/1000/0/Because I like building", replayed.get(0));
+        assertEquals(PLAYER + "/1000/1/\u00dcn\u00efc\u00f6d\u00e9", replayed.get(1));
+    }
+
+    @Test
+    public void tellsApartSuccessiveApplications() throws IOException {
+        AnswerLog log = open();
+        log.append(PLAYER, 1000, 0, "Old answer");
+        log.append(PLAYER, 2000, 0, "New answer");
+        log.close();
+
+        List<String> replayed = replay();
+        assertEquals(PLAYER + "/1000/0/Old answer", replayed.get(0));
+        assertEquals(PLAYER + "/2000/0/New answer", replayed.get(1));
+    }
+
+    @Test
+    public void tornTailIsIgnored() throws IOException {
+        AnswerLog log = open();
+        log.append(PLAYER, 1000, 0, "First");
+        log.append(PLAYER, 1000, 1, "Second");
+        log.close();
+
+        try (RandomAccessFile raw = new RandomAccessFile(file, "rw")) {
+            raw.setLength(raw.length() - 2);
+        }
+
+        List<String> replayed = replay();
+        assertEquals(1, replayed.size());
+        assertEquals(PLAYER + "/1000/0/First", replayed.get(0));
+    }
+
+    @Test
+    public void rotatedAnswersReplayUntilDiscarded() throws IOException {
+        AnswerLog log = open();
+        log.append(PLAYER, 1000, 0, "Before checkpoint");
+        log.rotate();
+        log.append(PLAYER, 1000, 1, "After checkpoint");
+
+        List<String> replayed = replay();
+        assertEquals(2, replayed.size());
+        assertEquals(PLAYER + "/1000/0/Before checkpoint", replayed.get(0));
+
+        log.discardRotated();
+        log.close();
+        assertFalse(new File(folder.getRoot(), "sessions.wal.old").exists());
+
+        replayed = replay();
+        assertEquals(1, replayed.size());
+        assertEquals(PLAYER + "/1000/1/After checkpoint", replayed.get(0));
+    }
+
+    @Test
+    public void failedCheckpointKeepsBothGenerations() throws IOException {
+        AnswerLog log = open();
+        log.append(PLAYER, 1000, 0, "One");
+        log.rotate();
+        log.append(PLAYER, 1000, 1, "Two");
+        // The previous checkpoint never discarded its rotated log
+        log.rotate();
+        log.append(PLAYER, 1000, 2, "Three");
+        log.close();
+
+        List<String> replayed = replay();
+        assertEquals(3, replayed.size());
+        assertTrue(replayed.get(2).endsWith("/2/Three"));
+    }
+
+    private AnswerLog open() throws IOException {
+        AnswerLog log = new AnswerLog(file, Logger.getAnonymousLogger());
+        log.open();
+        return log;
+    }
+
+    private List<String> replay() throws IOException {
+        List<String> replayed = new ArrayList<>();
+        new AnswerLog(file, Logger.getAnonymousLogger()).replay((playerId, startTime, index, answer) ->
+                replayed.add(playerId + "/" + startTime + "/" + index + "/" + answer));
+        return replayed;
+    }
+}
@@ -0,0 +1,170 @@
+package io.github.anonventions.capplications.storage;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class DurableFileWriterTest {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void replacesFileContent() throws IOException {
+        DurableFileWriter writer = writer(0);
+        File target = new File(folder.getRoot(), "app.yml");
+
+        writer.write(target, bytes("first"));
+        writer.write(target, bytes("second"));
+
+        assertArrayEquals(bytes("second"), Files.readAllBytes(target.toPath()));
+        assertNoTempFiles();
+    }
+
+    @Test
+    public void writesSeveralFilesInOneCommit() throws IOException {
+        DurableFileWriter writer = writer(0);
+        Map<File, byte[]> contents = new LinkedHashMap<>();
+        for (int i = 0; i < 5; i++) {
+            contents.put(new File(folder.getRoot(), i + ".yml"), bytes("record " + i));
+        }
+
+        writer.writeAll(contents);
+
+        for (Map.Entry<File, byte[]> content : contents.entrySet()) {
+            assertArrayEquals(content.getValue(), Files.readAllBytes(content.getKey().toPath()));
+        }
+        assertTrue(writer.describeMetrics().get(0).startsWith("Durable writes: 5 file(s)"));
+        assertTrue(writer.describeMetrics().get(0).endsWith("in 1 commit(s)"));
+        assertNoTempFiles();
+    }
+
+    @Test
+    public void concurrentWritersDoNotWaitOutTheLinger() throws Exception {
+        // Long enough that waiting it out would clearly fail the test
+        DurableFileWriter writer = writer(10_000);
+        ExecutorService threads = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> writes = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                File target = new File(folder.getRoot(), i + ".yml");
+                byte[] data = bytes("record " + i);
+                writes.add(threads.submit(() -> {
+                    start.await();
+                    writer.write(target, data);
+                    return null;
+                }));
+            }
+
+            long started = System.nanoTime();
+            start.countDown();
+            for (Future<?> write : writes) {
+                write.get(30, TimeUnit.SECONDS);
+            }
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+            assertTrue("took " + elapsed + "ms", elapsed < 5_000);
+        } finally {
+            threads.shutdownNow();
+        }
+
+        for (int i = 0; i < 32; i++) {
+            assertArrayEquals(bytes("record " + i), Files.readAllBytes(new File(folder.getRoot(), i + ".yml").toPath()));
+        }
+        assertNoTempFiles();
+    }
+
+    @Test
+    public void failedStageLeavesNothingBehind() throws IOException {
+        DurableFileWriter writer = writer(0);
+        File good = new File(folder.getRoot(), "good.yml");
+        Map<File, byte[]> contents = new LinkedHashMap<>();
+        contents.put(good, bytes("good"));
+        contents.put(new File(new File(folder.getRoot(), "missing"), "bad.yml"), bytes("bad"));
+
+        try {
+            writer.writeAll(contents);
+            fail("expected the missing directory to fail the write");
+        } catch (IOException expected) {
+        }
+
+        assertFalse(good.exists());
+        assertNoTempFiles();
+
+        // Nothing of the failed batch is committed later either
+        writer.write(new File(folder.getRoot(), "next.yml"), bytes("next"));
+        assertFalse(good.exists());
+    }
+
+    @Test
+    public void failedCommitReportsTheErrorAndKeepsTheOldFile() throws IOException {
+        DurableFileWriter writer = writer(0);
+        // A non-empty directory can't be replaced by a file
+        File target = new File(folder.getRoot(), "blocked.yml");
+        assertTrue(new File(target, "child").mkdirs());
+
+        try {
+            writer.write(target, bytes("data"));
+            fail("expected the rename to fail");
+        } catch (IOException expected) {
+        }
+
+        assertTrue(target.isDirectory());
+        assertNoTempFiles();
+    }
+
+    @Test
+    public void quarantineMovesTheFileAside() throws IOException {
+        DurableFileWriter writer = writer(0);
+        File target = new File(folder.getRoot(), "broken.yml");
+        Files.write(target.toPath(), bytes("{not yaml"));
+
+        File corrupt = writer.quarantine(target);
+
+        assertNotNull(corrupt);
+        assertFalse(target.exists());
+        assertTrue(corrupt.getName().startsWith("broken.yml.corrupt-"));
+        assertArrayEquals(bytes("{not yaml"), Files.readAllBytes(corrupt.toPath()));
+    }
+
+    @Test
+    public void quarantineOfMissingFileReturnsNull() {
+        assertNull(writer(0).quarantine(new File(folder.getRoot(), "missing.yml")));
+    }
+
+    private static DurableFileWriter writer(long lingerMillis) {
+        return new DurableFileWriter(Logger.getAnonymousLogger(), lingerMillis);
+    }
+
+    private void assertNoTempFiles() {
+        String[] temps = folder.getRoot().list((dir, name) -> name.endsWith(".tmp"));
+        assertEquals(0, temps.length);
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,184 @@
+package io.github.anonventions.capplications.storage;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class StatusJournalTest {
+
+    private static final UUID PLAYER = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void replaysAppendedEventsInOrder() throws IOException {
+        StatusJournal journal = open(new ArrayList<>());
+        journal.append(PLAYER, status("builder", "pending"));
+        journal.append(PLAYER, status("builder", "denied"));
+        journal.close();
+
+        List<StatusJournal.Entry> replayed = new ArrayList<>();
+        open(replayed).close();
+
+        assertEquals(2, replayed.size());
+        assertEquals(1, replayed.get(0).getSeq());
+        assertEquals("pending", replayed.get(0).getStatus().getStatus());
+        assertEquals(2, replayed.get(1).getSeq());
+        assertEquals("denied", replayed.get(1).getStatus().getStatus());
+        assertEquals(PLAYER, replayed.get(1).getPlayerId());
+    }
+
+    @Test
+    public void keepsNullableFields() throws IOException {
+        StatusJournal journal = open(new ArrayList<>());
+        journal.append(PLAYER, new StatusEntry("builder", "denied", 42, "Too short", null));
+        journal.close();
+
+        List<StatusJournal.Entry> replayed = new ArrayList<>();
+        open(replayed).close();
+
+        StatusEntry entry = replayed.get(0).getStatus();
+        assertEquals(42, entry.getTimestamp());
+        assertEquals("Too short", entry.getReason());
+        assertNull(entry.getHandler());
+    }
+
+    @Test
+    public void tornTailEndsReplayOfItsSegment() throws IOException {
+        StatusJournal journal = open(new ArrayList<>());
+        journal.append(PLAYER, status("builder", "pending"));
+        journal.append(PLAYER, status("builder", "accepted"));
+        journal.close();
+
+        try (RandomAccessFile file = new RandomAccessFile(onlySegment(), "rw")) {
+            file.setLength(file.length() - 3);
+        }
+
+        List<StatusJournal.Entry> replayed = new ArrayList<>();
+        journal = open(replayed);
+        assertEquals(1, replayed.size());
+        assertEquals("pending", replayed.get(0).getStatus().getStatus());
+
+        // Sequence numbers continue after the last good record
+        assertEquals(2, journal.append(PLAYER, status("builder", "accepted")));
+        journal.close();
+    }
+
+    @Test
+    public void corruptRecordEndsReplayOfItsSegment() throws IOException {
+        StatusJournal journal = open(new ArrayList<>());
+        journal.append(PLAYER, status("builder", "pending"));
+        long firstEnd = onlySegment().length();
+        journal.append(PLAYER, status("builder", "accepted"));
+        journal.append(PLAYER, status("moderator", "pending"));
+        journal.close();
+
+        // Flip a payload byte of the second record
+        try (RandomAccessFile file = new RandomAccessFile(onlySegment(), "rw")) {
+            file.seek(firstEnd + 12);
+            int value = file.read();
+            file.seek(firstEnd + 12);
+            file.write(value ^ 0xFF);
+        }
+
+        List<StatusJournal.Entry> replayed = new ArrayList<>();
+        open(replayed).close();
+        assertEquals(1, replayed.size());
+    }
+
+    @Test
+    public void laterSegmentsSurviveATornOne() throws IOException {
+        StatusJournal journal = open(new ArrayList<>());
+        journal.append(PLAYER, status("builder", "pending"));
+        journal.append(PLAYER, status("builder", "accepted"));
+        journal.roll();
+        journal.append(PLAYER, status("moderator", "pending"));
+        journal.close();
+
+        try (RandomAccessFile file = new RandomAccessFile(segment(1), "rw")) {
+            file.setLength(file.length() - 1);
+        }
+
+        List<StatusJournal.Entry> replayed = new ArrayList<>();
+        open(replayed).close();
+        assertEquals(2, replayed.size());
+        assertEquals(1, replayed.get(0).getSeq());
+        assertEquals(3, replayed.get(1).getSeq());
+    }
+
+    @Test
+    public void compactionDeletesOnlyCoveredClosedSegments() throws IOException {
+        StatusJournal journal = open(new ArrayList<>());
+        journal.append(PLAYER, status("builder", "pending"));
+        journal.append(PLAYER, status("builder", "accepted"));
+        long compacted = journal.roll();
+        journal.append(PLAYER, status("moderator", "pending"));
+
+        assertEquals(2, compacted);
+        assertTrue(journal.deleteSegmentsUpTo(compacted));
+        journal.close();
+
+        assertFalse(segment(1).exists());
+        assertTrue(segment(3).exists());
+
+        List<StatusJournal.Entry> replayed = new ArrayList<>();
+        open(replayed).close();
+        assertEquals(1, replayed.size());
+        assertEquals(3, replayed.get(0).getSeq());
+    }
+
+    @Test
+    public void sequenceSurvivesCompactingEverything() throws IOException {
+        StatusJournal journal = open(new ArrayList<>());
+        journal.append(PLAYER, status("builder", "pending"));
+        journal.append(PLAYER, status("builder", "accepted"));
+        journal.deleteSegmentsUpTo(journal.roll());
+        journal.close();
+
+        journal = open(new ArrayList<>());
+        assertEquals(3, journal.append(PLAYER, status("moderator", "pending")));
+        journal.close();
+    }
+
+    @Test(expected = IOException.class)
+    public void appendAfterCloseFails() throws IOException {
+        StatusJournal journal = open(new ArrayList<>());
+        journal.close();
+        journal.append(PLAYER, status("builder", "pending"));
+    }
+
+    private StatusJournal open(List<StatusJournal.Entry> replayed) throws IOException {
+        StatusJournal journal = new StatusJournal(folder.getRoot(), 1 << 20, Logger.getAnonymousLogger());
+        journal.open(replayed::add);
+        return journal;
+    }
+
+    private File segment(long firstSeq) {
+        return new File(folder.getRoot(), "segment-" + firstSeq + ".log");
+    }
+
+    private File onlySegment() {
+        File[] segments = folder.getRoot().listFiles((dir, name) -> name.endsWith(".log") && new File(dir, name).length() > 0);
+        assertEquals(Arrays.toString(segments), 1, segments.length);
+        return segments[0];
+    }
+
+    private static StatusEntry status(String role, String status) {
+        return new StatusEntry(role, status, System.currentTimeMillis(), null, "Reviewer");
+    }
+}